@@ -0,0 +1,99 @@
+package com.example.social.moderation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TermMatcher} with the previous moderation check (lower-case
+ * the text, then String.contains per banned word) on post-sized texts.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}, or main() from an IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentModerationBenchmark {
+
+    @Param({ "6", "1000", "10000" })
+    public int dictionarySize;
+
+    private List<String> terms;
+    private TermMatcher matcher;
+    private String[] posts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        terms = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            terms.add(word(random, 4 + random.nextInt(6)));
+        }
+        matcher = TermMatcher.compile(terms);
+
+        // Clean posts are the common case and the worst one: every term is checked
+        posts = new String[64];
+        for (int p = 0; p < posts.length; p++) {
+            StringBuilder post = new StringBuilder();
+            while (post.length() < 280) {
+                post.append(Character.toUpperCase((char) ('a' + random.nextInt(26))))
+                        .append(word(random, 2 + random.nextInt(8)))
+                        .append(random.nextInt(8) == 0 ? ", " : " ");
+            }
+            posts[p] = post.toString();
+        }
+    }
+
+    @Benchmark
+    public void legacyContains(Blackhole blackhole) {
+        for (String post : posts) {
+            String lowerCaseText = post.toLowerCase();
+            boolean allowed = true;
+            for (String word : terms) {
+                if (lowerCaseText.contains(word)) {
+                    allowed = false;
+                    break;
+                }
+            }
+            blackhole.consume(allowed);
+        }
+    }
+
+    @Benchmark
+    public void automaton(Blackhole blackhole) {
+        for (String post : posts) {
+            blackhole.consume(!matcher.matches(post));
+        }
+    }
+
+    @Benchmark
+    public TermMatcher compile() {
+        return TermMatcher.compile(terms);
+    }
+
+    private static String word(Random random, int length) {
+        // Letters weighted towards e/t/a/o so words share prefixes like real text
+        String letters = "eeeetttaaaooiinnsshrdlucmfwypvbgkqjxz";
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContentModerationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
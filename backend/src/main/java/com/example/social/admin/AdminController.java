@@ -29,6 +29,10 @@ public class AdminController {
     private final UserService userService;
     private final AdminAuditService auditService;
     private final AdminAuditLogRepository auditRepo;
+    private final com.example.social.user.UserSnapshotCache userSnapshotCache;
+    private final com.example.social.security.TokenRevocationRegistry tokenRevocationRegistry;
+    private final com.example.social.common.ContentModerationService contentModerationService;
+    private final com.example.social.search.UserSyncService userSyncService;
 
     public AdminController(
             UserRepository userRepository,
@@ -36,13 +40,21 @@ public class AdminController {
             PostService postService,
             UserService userService,
             AdminAuditService auditService,
-            AdminAuditLogRepository auditRepo) {
+            AdminAuditLogRepository auditRepo,
+            com.example.social.user.UserSnapshotCache userSnapshotCache,
+            com.example.social.security.TokenRevocationRegistry tokenRevocationRegistry,
+            com.example.social.common.ContentModerationService contentModerationService,
+            com.example.social.search.UserSyncService userSyncService) {
         this.userRepository = userRepository;
         this.reportRepository = reportRepository;
         this.postService = postService;
         this.userService = userService;
         this.auditService = auditService;
         this.auditRepo = auditRepo;
+        this.userSnapshotCache = userSnapshotCache;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.contentModerationService = contentModerationService;
+        this.userSyncService = userSyncService;
     }
 
     @GetMapping("/users")
@@ -73,7 +85,10 @@ public class AdminController {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setBanned(true);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.update(user);
     }
 
     @PostMapping("/unban/{username}")
@@ -82,7 +97,10 @@ public class AdminController {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setBanned(false);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.update(user);
     }
 
     @PostMapping("/warn/{username}")
@@ -123,6 +141,36 @@ public class AdminController {
         auditService.log(auth.getName(), "DELETE_REPORT", "Report ID " + reportId, "Deleted report");
     }
 
+    @GetMapping("/moderation/terms")
+    @Operation(summary = "List banned terms", description = "Words and phrases rejected in posts and comments")
+    public List<com.example.social.moderation.ModerationTerm> moderationTerms() {
+        return contentModerationService.listTerms();
+    }
+
+    @PostMapping("/moderation/terms")
+    @Operation(summary = "Add banned term", description = "Takes effect on every node without a restart")
+    public com.example.social.moderation.ModerationTerm addModerationTerm(
+            @RequestParam String term, Authentication auth) {
+        com.example.social.moderation.ModerationTerm saved = contentModerationService.addTerm(term, auth.getName());
+        auditService.log(auth.getName(), "ADD_TERM", "Term ID " + saved.getId(), "Banned term: " + saved.getTerm());
+        return saved;
+    }
+
+    @DeleteMapping("/moderation/terms/{termId}")
+    public void removeModerationTerm(@PathVariable Long termId, Authentication auth) {
+        contentModerationService.removeTerm(termId);
+        auditService.log(auth.getName(), "REMOVE_TERM", "Term ID " + termId, "Removed banned term");
+    }
+
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reindex users", description = "Queues every user for the Elasticsearch user index (Admin only)")
+    public java.util.Map<String, Integer> reindexUsers(Authentication auth) {
+        int queued = userSyncService.syncAll();
+        auditService.log(auth.getName(), "REINDEX_USERS", null, "Queued " + queued + " users for indexing");
+        return java.util.Map.of("queued", queued);
+    }
+
     @GetMapping("/audit")
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
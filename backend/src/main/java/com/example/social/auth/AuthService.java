@@ -20,7 +20,12 @@ public class AuthService {
     private final JwtService jwtService;
     private final PasswordResetTokenRepository resetTokenRepository;
     private final EmailService emailService;
+    private final com.example.social.user.UserSnapshotCache userSnapshotCache;
+    private final com.example.social.security.TokenRevocationRegistry tokenRevocationRegistry;
+    private final com.example.social.search.UserSyncService userSyncService;
+    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public AuthResponse register(RegisterRequest request) {
 
         if (userRepository.existsByUsername(request.username())) {
@@ -38,6 +43,8 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        userSyncService.syncUser(user);
+        eventPublisher.publishEvent(new com.example.social.user.UsernameChangedEvent(user.getId(), user.getUsername()));
 
         String token = jwtService.generateToken(user);
         return new AuthResponse(token);
@@ -111,6 +118,8 @@ public class AuthService {
         // Also tokenVersion increment could be good to invalidate login sessions.
         user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.update(user);
 
         token.setUsed(true);
         resetTokenRepository.save(token);
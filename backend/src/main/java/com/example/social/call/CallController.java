@@ -1,8 +1,8 @@
 package com.example.social.call;
 
+import com.example.social.websocket.UserMessagingGateway;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -10,10 +10,10 @@ import java.security.Principal;
 @Controller
 public class CallController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final UserMessagingGateway messagingGateway;
 
-    public CallController(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public CallController(UserMessagingGateway messagingGateway) {
+        this.messagingGateway = messagingGateway;
     }
 
     @MessageMapping("/call/signal")
@@ -32,7 +32,7 @@ public class CallController {
                 signal.sdp(),
                 signal.candidate());
 
-        messagingTemplate.convertAndSendToUser(
+        messagingGateway.sendToUser(
                 signal.targetUsername(),
                 "/queue/call",
                 forwardSignal);
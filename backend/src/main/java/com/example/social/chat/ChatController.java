@@ -40,11 +40,28 @@ public class ChatController {
         }
     }
 
+    @GetMapping("/conversation/{username}/cursor")
+    public com.example.social.common.CursorPage<MessageResponse> conversationByCursor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return chatService.getConversation(auth.getName(), username, cursor, size);
+    }
+
     @GetMapping("/inbox")
     public List<com.example.social.chat.dto.ConversationResponse> inbox(Authentication auth) {
         return chatService.inbox(auth.getName());
     }
 
+    @GetMapping("/inbox/cursor")
+    public com.example.social.common.CursorPage<com.example.social.chat.dto.ConversationResponse> inboxByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return chatService.inbox(auth.getName(), cursor, size);
+    }
+
     @PostMapping(value = "/send/{username}/image", consumes = "multipart/form-data")
     public void sendWithImage(
             @PathVariable String username,
@@ -101,6 +118,15 @@ public class ChatController {
         return chatService.getGroupMessages(groupId, page, size);
     }
 
+    @GetMapping("/group/{groupId}/messages/cursor")
+    public com.example.social.common.CursorPage<MessageResponse> getGroupMessagesByCursor(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication auth) {
+        return chatService.getGroupMessages(groupId, cursor, size);
+    }
+
     @GetMapping("/group/{groupId}")
     public com.example.social.chat.dto.ChatGroupResponse getGroup(
             @PathVariable Long groupId,
@@ -16,9 +16,16 @@ public class ChatService {
         private final MessageReactionRepository messageReactionRepository;
         private final com.example.social.notification.NotificationService notificationService;
         private final com.example.social.file.FileStorageService fileStorageService;
-        private final com.example.social.user.BlockRepository blockRepository;
-        private final org.springframework.messaging.simp.SimpMessagingTemplate messagingTemplate;
+        private final com.example.social.graph.SocialGraphService socialGraph;
+        private final com.example.social.websocket.UserMessagingGateway messagingGateway;
         private final MessageReadStatusRepository messageReadStatusRepository;
+        private final ConversationSummaryRepository conversationSummaryRepository;
+
+        // Inbox page size for the non-paginated endpoint
+        private static final int DEFAULT_INBOX_SIZE = 50;
+
+        // Length of the last-message preview kept in conversation summaries
+        private static final int SNIPPET_LENGTH = 200;
 
         public ChatService(
                         MessageRepository messageRepository,
@@ -27,18 +34,20 @@ public class ChatService {
                         MessageReactionRepository messageReactionRepository,
                         com.example.social.notification.NotificationService notificationService,
                         com.example.social.file.FileStorageService fileStorageService,
-                        com.example.social.user.BlockRepository blockRepository,
-                        org.springframework.messaging.simp.SimpMessagingTemplate messagingTemplate,
-                        MessageReadStatusRepository messageReadStatusRepository) {
+                        com.example.social.graph.SocialGraphService socialGraph,
+                        com.example.social.websocket.UserMessagingGateway messagingGateway,
+                        MessageReadStatusRepository messageReadStatusRepository,
+                        ConversationSummaryRepository conversationSummaryRepository) {
                 this.messageRepository = messageRepository;
                 this.userRepository = userRepository;
                 this.chatGroupRepository = chatGroupRepository;
                 this.messageReactionRepository = messageReactionRepository;
                 this.notificationService = notificationService;
                 this.fileStorageService = fileStorageService;
-                this.blockRepository = blockRepository;
-                this.messagingTemplate = messagingTemplate;
+                this.socialGraph = socialGraph;
+                this.messagingGateway = messagingGateway;
                 this.messageReadStatusRepository = messageReadStatusRepository;
+                this.conversationSummaryRepository = conversationSummaryRepository;
         }
 
         @org.springframework.transaction.annotation.Transactional
@@ -51,10 +60,10 @@ public class ChatService {
                                 .orElseThrow(() -> new java.util.NoSuchElementException(
                                                 "User not found: " + receiverUsername));
 
-                if (blockRepository.existsByBlockerAndBlocked(receiver, sender)) {
+                if (socialGraph.isBlocking(receiver.getId(), sender.getId())) {
                         throw new RuntimeException("You are blocked");
                 }
-                if (blockRepository.existsByBlockerAndBlocked(sender, receiver)) {
+                if (socialGraph.isBlocking(sender.getId(), receiver.getId())) {
                         throw new RuntimeException("You have blocked this user");
                 }
 
@@ -66,6 +75,7 @@ public class ChatService {
                                 .build();
 
                 messageRepository.save(message);
+                recordInSummaries(message);
 
                 // Send real-time message to receiver
                 MessageResponse response = new MessageResponse(
@@ -82,14 +92,14 @@ public class ChatService {
                                 new java.util.ArrayList<>(), // readBy
                                 message.getCreatedAt());
 
-                messagingTemplate.convertAndSendToUser(
+                messagingGateway.sendToUser(
                                 receiverUsername,
                                 "/queue/messages",
                                 response);
 
                 // Also send back to sender (for confirmation/synced across devices)
                 /*
-                 * messagingTemplate.convertAndSendToUser(
+                 * messagingGateway.sendToUser(
                  * senderUsername,
                  * "/queue/messages",
                  * response);
@@ -114,76 +124,133 @@ public class ChatService {
                                 .orElseThrow(() -> new java.util.NoSuchElementException("User not found: " + other));
 
                 // Mark messages as read
-                messageRepository.markRead(user1, user2);
+                markConversationRead(user1, user2);
 
                 org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page,
                                 size);
 
                 return messageRepository
                                 .findConversation(user1, user2, pageable)
-                                .map(m -> new MessageResponse(
-                                                m.getId(),
-                                                m.getSender().getUsername(),
-                                                m.getSender().getProfileImageUrl(),
-                                                m.getReceiver().getUsername(),
-                                                m.getChatGroup() != null ? m.getChatGroup().getId() : null,
-                                                m.getContent(),
-                                                m.getImageUrl(),
-                                                m.getVoiceUrl(),
-                                                m.isRead(),
-                                                m.getReactions().stream()
-                                                                .map(r -> new com.example.social.chat.dto.ReactionResponse(
-                                                                                r.getId(),
-                                                                                r.getUser().getUsername(),
-                                                                                r.getReaction()))
-                                                                .toList(),
-                                                new java.util.ArrayList<>(), // readBy
-                                                m.getCreatedAt()));
+                                .map(this::toConversationMessage);
         }
 
-        @org.springframework.transaction.annotation.Transactional(readOnly = true)
-        public List<com.example.social.chat.dto.ConversationResponse> inbox(String username) {
-                System.out.println("Fetching inbox for: " + username);
-                User me = userRepository.findByUsername(username)
-                                .orElseThrow(() -> new java.util.NoSuchElementException("User not found: " + username));
+        @org.springframework.transaction.annotation.Transactional
+        public com.example.social.common.CursorPage<MessageResponse> getConversation(String me, String other,
+                        String cursor, int size) {
+                size = com.example.social.common.CursorPage.clampSize(size);
+
+                User user1 = userRepository.findByUsername(me)
+                                .orElseThrow(() -> new java.util.NoSuchElementException("User not found: " + me));
+                User user2 = userRepository.findByUsername(other)
+                                .orElseThrow(() -> new java.util.NoSuchElementException("User not found: " + other));
+                com.example.social.common.Cursor before = com.example.social.common.Cursor.decodeOr(cursor,
+                                com.example.social.common.Cursor.NEWEST);
 
-                List<Message> messages = messageRepository.findRecentMessages(me);
-                System.out.println("Total messages found: " + messages.size());
+                // Only the first page marks messages as read, like opening the conversation
+                if (cursor == null || cursor.isBlank()) {
+                        markConversationRead(user1, user2);
+                }
 
-                java.util.Map<String, Message> latestMap = new java.util.LinkedHashMap<>();
+                return com.example.social.common.CursorPage.of(
+                                messageRepository.findConversationBefore(user1, user2, before.createdAt(), before.id(),
+                                                org.springframework.data.domain.Limit.of(size + 1)),
+                                size,
+                                ChatService::cursorOf,
+                                messages -> messages.stream().map(this::toConversationMessage).toList());
+        }
 
-                for (Message m : messages) {
-                        if (m.getChatGroup() != null)
-                                continue;
+        private MessageResponse toConversationMessage(Message m) {
+                return new MessageResponse(
+                                m.getId(),
+                                m.getSender().getUsername(),
+                                m.getSender().getProfileImageUrl(),
+                                m.getReceiver().getUsername(),
+                                m.getChatGroup() != null ? m.getChatGroup().getId() : null,
+                                m.getContent(),
+                                m.getImageUrl(),
+                                m.getVoiceUrl(),
+                                m.isRead(),
+                                m.getReactions().stream()
+                                                .map(r -> new com.example.social.chat.dto.ReactionResponse(
+                                                                r.getId(),
+                                                                r.getUser().getUsername(),
+                                                                r.getReaction()))
+                                                .toList(),
+                                new java.util.ArrayList<>(), // readBy
+                                m.getCreatedAt());
+        }
 
-                        String otherUsername = m.getSender().getUsername().equals(me.getUsername())
-                                        ? m.getReceiver().getUsername()
-                                        : m.getSender().getUsername();
+        private static com.example.social.common.Cursor cursorOf(Message m) {
+                return new com.example.social.common.Cursor(m.getCreatedAt(), m.getId());
+        }
 
-                        if (!latestMap.containsKey(otherUsername)) {
-                                latestMap.put(otherUsername, m);
-                        }
+        /**
+         * First page of the user's direct conversations, most recent first.
+         */
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public List<com.example.social.chat.dto.ConversationResponse> inbox(String username) {
+                return inbox(username, null, DEFAULT_INBOX_SIZE).items();
+        }
+
+        /**
+         * Direct conversations served from the per-user summary table, one row per
+         * other party, ordered by last message.
+         */
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public com.example.social.common.CursorPage<com.example.social.chat.dto.ConversationResponse> inbox(
+                        String username, String cursor, int size) {
+                size = com.example.social.common.CursorPage.clampSize(size);
+                User me = userRepository.findByUsername(username)
+                                .orElseThrow(() -> new java.util.NoSuchElementException("User not found: " + username));
+                com.example.social.common.Cursor before = com.example.social.common.Cursor.decodeOr(cursor,
+                                com.example.social.common.Cursor.NEWEST);
+
+                return com.example.social.common.CursorPage.of(
+                                conversationSummaryRepository.findInboxBefore(me.getId(), before.createdAt(), before.id(),
+                                                org.springframework.data.domain.Limit.of(size + 1)),
+                                size,
+                                s -> new com.example.social.common.Cursor(s.getLastMessageAt(), s.getLastMessageId()),
+                                summaries -> summaries.stream()
+                                                .map(s -> new com.example.social.chat.dto.ConversationResponse(
+                                                                s.getOther().getUsername(),
+                                                                s.getLastMessage(),
+                                                                s.getLastMessageAt(),
+                                                                s.getOther().getProfileImageUrl(),
+                                                                s.getOther().isVerified(),
+                                                                s.getUnreadCount()))
+                                                .toList());
+        }
+
+        // Updates both participants' inbox rows; only the receiver gains an unread message
+        private void recordInSummaries(Message message) {
+                String content = message.getContent();
+                String snippet = content != null && content.length() > SNIPPET_LENGTH
+                                ? content.substring(0, SNIPPET_LENGTH)
+                                : content;
+                Long senderId = message.getSender().getId();
+                Long receiverId = message.getReceiver().getId();
+
+                // Rows are locked lower owner id first, so A->B and B->A sent at the
+                // same moment queue on the same row instead of deadlocking
+                if (senderId < receiverId) {
+                        conversationSummaryRepository.recordMessage(senderId, receiverId, message.getId(), snippet,
+                                        message.getCreatedAt(), 0);
+                        conversationSummaryRepository.recordMessage(receiverId, senderId, message.getId(), snippet,
+                                        message.getCreatedAt(), 1);
+                } else {
+                        conversationSummaryRepository.recordMessage(receiverId, senderId, message.getId(), snippet,
+                                        message.getCreatedAt(), 1);
+                        conversationSummaryRepository.recordMessage(senderId, receiverId, message.getId(), snippet,
+                                        message.getCreatedAt(), 0);
                 }
+        }
 
-                System.out.println("Unique conversations: " + latestMap.size());
-
-                return latestMap.entrySet().stream()
-                                .map(e -> {
-                                        Message m = e.getValue();
-                                        User otherUser = m.getSender().getUsername().equals(me.getUsername())
-                                                        ? m.getReceiver()
-                                                        : m.getSender();
-
-                                        return new com.example.social.chat.dto.ConversationResponse(
-                                                        e.getKey(),
-                                                        m.getContent(),
-                                                        m.getCreatedAt(),
-                                                        otherUser.getProfileImageUrl(),
-                                                        otherUser.isVerified());
-                                })
-                                .toList();
+        private void markConversationRead(User me, User other) {
+                messageRepository.markRead(me, other);
+                conversationSummaryRepository.markRead(me.getId(), other.getId());
         }
 
+        @org.springframework.transaction.annotation.Transactional
         public void sendMessageWithImage(String senderUsername, String receiverUsername,
                         String content, org.springframework.web.multipart.MultipartFile image) {
 
@@ -207,6 +274,7 @@ public class ChatService {
                                 .build();
 
                 messageRepository.save(message);
+                recordInSummaries(message);
 
                 // Send real-time message to receiver
                 MessageResponse response = new MessageResponse(
@@ -223,7 +291,7 @@ public class ChatService {
                                 new java.util.ArrayList<>(), // readBy
                                 message.getCreatedAt());
 
-                messagingTemplate.convertAndSendToUser(
+                messagingGateway.sendToUser(
                                 receiverUsername,
                                 "/queue/messages",
                                 response);
@@ -249,7 +317,7 @@ public class ChatService {
 
                         for (User participant : group.getParticipants()) {
                                 if (!participant.getUsername().equals(senderUsername)) {
-                                        messagingTemplate.convertAndSendToUser(
+                                        messagingGateway.sendToUser(
                                                         participant.getUsername(),
                                                         "/queue/events",
                                                         event);
@@ -259,7 +327,7 @@ public class ChatService {
                         com.example.social.chat.dto.SocketEvent event = new com.example.social.chat.dto.SocketEvent(
                                         com.example.social.chat.dto.SocketEventType.TYPING,
                                         new com.example.social.chat.dto.TypingPayload(senderUsername, null));
-                        messagingTemplate.convertAndSendToUser(
+                        messagingGateway.sendToUser(
                                         receiverUsername,
                                         "/queue/events",
                                         event);
@@ -299,7 +367,7 @@ public class ChatService {
                                 // Don't send to reader themselves (optional, but good for sync)
                                 // Actually good to send to reader too for multi-device sync
                                 if (!participant.getUsername().equals(readerUsername)) {
-                                        messagingTemplate.convertAndSendToUser(
+                                        messagingGateway.sendToUser(
                                                         participant.getUsername(),
                                                         "/queue/events",
                                                         event);
@@ -311,10 +379,10 @@ public class ChatService {
                         User originalSender = userRepository.findByUsername(originalSenderUsername)
                                         .orElseThrow(() -> new java.util.NoSuchElementException(
                                                         "User not found: " + originalSenderUsername));
-                        messageRepository.markRead(reader, originalSender);
+                        markConversationRead(reader, originalSender);
 
                         // Broadcast event
-                        messagingTemplate.convertAndSendToUser(
+                        messagingGateway.sendToUser(
                                         originalSenderUsername,
                                         "/queue/events",
                                         new com.example.social.chat.dto.SocketEvent(
@@ -430,7 +498,7 @@ public class ChatService {
                 // Broadcast to all participants except sender
                 for (User participant : group.getParticipants()) {
                         if (!participant.equals(sender)) {
-                                messagingTemplate.convertAndSendToUser(
+                                messagingGateway.sendToUser(
                                                 participant.getUsername(),
                                                 "/queue/messages",
                                                 response);
@@ -482,7 +550,7 @@ public class ChatService {
 
                 for (User participant : group.getParticipants()) {
                         if (!participant.equals(sender)) {
-                                messagingTemplate.convertAndSendToUser(
+                                messagingGateway.sendToUser(
                                                 participant.getUsername(),
                                                 "/queue/messages",
                                                 response);
@@ -498,26 +566,46 @@ public class ChatService {
                 org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page,
                                 size);
 
-                return messageRepository.findByChatGroup(group, pageable)
-                                .map(m -> new MessageResponse(
-                                                m.getId(),
-                                                m.getSender().getUsername(),
-                                                m.getSender().getProfileImageUrl(),
-                                                null,
-                                                m.getChatGroup().getId(),
-                                                m.getContent(),
-                                                m.getImageUrl(),
-                                                m.getVoiceUrl(),
-                                                m.isRead(),
-                                                m.getReactions().stream()
-                                                                .map(r -> new com.example.social.chat.dto.ReactionResponse(
-                                                                                r.getId(),
-                                                                                r.getUser().getUsername(),
-                                                                                r.getReaction()))
-                                                                .toList(),
-                                                messageReadStatusRepository.findByMessage(m).stream()
-                                                                .map(s -> s.getUser().getUsername()).toList(),
-                                                m.getCreatedAt()));
+                return messageRepository.findByChatGroup(group, pageable).map(this::toGroupMessage);
+        }
+
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public com.example.social.common.CursorPage<MessageResponse> getGroupMessages(Long groupId, String cursor,
+                        int size) {
+                size = com.example.social.common.CursorPage.clampSize(size);
+                ChatGroup group = chatGroupRepository.findById(groupId)
+                                .orElseThrow(() -> new java.util.NoSuchElementException("Group not found: " + groupId));
+                com.example.social.common.Cursor before = com.example.social.common.Cursor.decodeOr(cursor,
+                                com.example.social.common.Cursor.NEWEST);
+
+                return com.example.social.common.CursorPage.of(
+                                messageRepository.findByChatGroupBefore(group, before.createdAt(), before.id(),
+                                                org.springframework.data.domain.Limit.of(size + 1)),
+                                size,
+                                ChatService::cursorOf,
+                                messages -> messages.stream().map(this::toGroupMessage).toList());
+        }
+
+        private MessageResponse toGroupMessage(Message m) {
+                return new MessageResponse(
+                                m.getId(),
+                                m.getSender().getUsername(),
+                                m.getSender().getProfileImageUrl(),
+                                null,
+                                m.getChatGroup().getId(),
+                                m.getContent(),
+                                m.getImageUrl(),
+                                m.getVoiceUrl(),
+                                m.isRead(),
+                                m.getReactions().stream()
+                                                .map(r -> new com.example.social.chat.dto.ReactionResponse(
+                                                                r.getId(),
+                                                                r.getUser().getUsername(),
+                                                                r.getReaction()))
+                                                .toList(),
+                                messageReadStatusRepository.findByMessage(m).stream()
+                                                .map(s -> s.getUser().getUsername()).toList(),
+                                m.getCreatedAt());
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -0,0 +1,70 @@
+package com.example.social.chat;
+
+import com.example.social.user.User;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per (owner, other party) direct conversation, kept up to date by
+ * {@link ChatService} so the inbox never has to scan message history. Each
+ * message updates two rows: the sender's and the receiver's.
+ *
+ * Rows are only written through the queries in
+ * {@link ConversationSummaryRepository}, so there are no setters.
+ */
+@Entity
+@Table(name = "conversation_summaries")
+public class ConversationSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private User owner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "other_id", nullable = false)
+    private User other;
+
+    private Long lastMessageId;
+
+    private String lastMessage;
+
+    private LocalDateTime lastMessageAt;
+
+    private int unreadCount;
+
+    public ConversationSummary() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public User getOther() {
+        return other;
+    }
+
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+}
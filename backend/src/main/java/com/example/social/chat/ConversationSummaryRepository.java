@@ -0,0 +1,59 @@
+package com.example.social.chat;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Long> {
+
+        // Inbox page strictly after the (lastMessageAt, lastMessageId) cursor, newest first
+        @Query("""
+                            SELECT s FROM ConversationSummary s
+                            JOIN FETCH s.other
+                            WHERE s.owner.id = :ownerId
+                              AND (s.lastMessageAt < :lastMessageAt
+                                   OR (s.lastMessageAt = :lastMessageAt AND s.lastMessageId < :lastMessageId))
+                            ORDER BY s.lastMessageAt DESC, s.lastMessageId DESC
+                        """)
+        List<ConversationSummary> findInboxBefore(
+                        @Param("ownerId") Long ownerId,
+                        @Param("lastMessageAt") java.time.LocalDateTime lastMessageAt,
+                        @Param("lastMessageId") Long lastMessageId,
+                        org.springframework.data.domain.Limit limit);
+
+        // Records a message in the owner's summary row, creating it on first
+        // contact. Out-of-order commits never move the last message backwards.
+        @Modifying
+        @org.springframework.transaction.annotation.Transactional
+        @Query(value = """
+                            INSERT INTO conversation_summaries
+                                (owner_id, other_id, last_message_id, last_message, last_message_at, unread_count)
+                            VALUES (:ownerId, :otherId, :messageId, :snippet, :sentAt, :unread)
+                            ON CONFLICT (owner_id, other_id) DO UPDATE SET
+                                last_message = CASE WHEN EXCLUDED.last_message_id > conversation_summaries.last_message_id
+                                        THEN EXCLUDED.last_message ELSE conversation_summaries.last_message END,
+                                last_message_at = CASE WHEN EXCLUDED.last_message_id > conversation_summaries.last_message_id
+                                        THEN EXCLUDED.last_message_at ELSE conversation_summaries.last_message_at END,
+                                last_message_id = GREATEST(EXCLUDED.last_message_id, conversation_summaries.last_message_id),
+                                unread_count = conversation_summaries.unread_count + EXCLUDED.unread_count
+                        """, nativeQuery = true)
+        void recordMessage(
+                        @Param("ownerId") Long ownerId,
+                        @Param("otherId") Long otherId,
+                        @Param("messageId") Long messageId,
+                        @Param("snippet") String snippet,
+                        @Param("sentAt") java.time.LocalDateTime sentAt,
+                        @Param("unread") int unread);
+
+        @Modifying
+        @org.springframework.transaction.annotation.Transactional
+        @Query("""
+                            UPDATE ConversationSummary s
+                            SET s.unreadCount = 0
+                            WHERE s.owner.id = :ownerId AND s.other.id = :otherId AND s.unreadCount <> 0
+                        """)
+        void markRead(@Param("ownerId") Long ownerId, @Param("otherId") Long otherId);
+}
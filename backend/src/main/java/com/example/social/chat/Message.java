@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // Keyset pagination of group conversations; chat_group_id is not managed by Flyway
+        @Index(name = "idx_messages_group_created", columnList = "chat_group_id, created_at, id")
+})
 public class Message {
 
     @Id
@@ -13,6 +13,20 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
                         @org.springframework.data.repository.query.Param("user2") User user2,
                         org.springframework.data.domain.Pageable pageable);
 
+        // Keyset variant of findConversation: messages strictly before the (createdAt, id) cursor
+        @org.springframework.data.jpa.repository.Query("""
+                            SELECT m FROM Message m
+                            WHERE ((m.sender = :user1 AND m.receiver = :user2) OR (m.sender = :user2 AND m.receiver = :user1))
+                              AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id))
+                            ORDER BY m.createdAt DESC, m.id DESC
+                        """)
+        List<Message> findConversationBefore(
+                        @org.springframework.data.repository.query.Param("user1") User user1,
+                        @org.springframework.data.repository.query.Param("user2") User user2,
+                        @org.springframework.data.repository.query.Param("createdAt") java.time.LocalDateTime createdAt,
+                        @org.springframework.data.repository.query.Param("id") Long id,
+                        org.springframework.data.domain.Limit limit);
+
         @org.springframework.data.jpa.repository.Query("SELECT m FROM Message m WHERE m.chatGroup = :group ORDER BY m.createdAt DESC")
         org.springframework.data.domain.Page<Message> findByChatGroup(
                         @org.springframework.data.repository.query.Param("group") ChatGroup group,
@@ -20,10 +34,15 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
         @org.springframework.data.jpa.repository.Query("""
                             SELECT m FROM Message m
-                            WHERE m.sender = :user OR m.receiver = :user
-                            ORDER BY m.createdAt DESC
+                            WHERE m.chatGroup = :group
+                              AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id))
+                            ORDER BY m.createdAt DESC, m.id DESC
                         """)
-        List<Message> findRecentMessages(User user);
+        List<Message> findByChatGroupBefore(
+                        @org.springframework.data.repository.query.Param("group") ChatGroup group,
+                        @org.springframework.data.repository.query.Param("createdAt") java.time.LocalDateTime createdAt,
+                        @org.springframework.data.repository.query.Param("id") Long id,
+                        org.springframework.data.domain.Limit limit);
 
         @org.springframework.data.jpa.repository.Modifying
         @org.springframework.transaction.annotation.Transactional
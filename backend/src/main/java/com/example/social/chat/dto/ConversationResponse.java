@@ -7,5 +7,6 @@ public record ConversationResponse(
         String lastMessage,
         LocalDateTime lastTime,
         String profileImage,
-        boolean verified) {
+        boolean verified,
+        int unreadCount) {
 }
@@ -12,7 +12,7 @@ import org.springframework.web.bind.annotation.*;
 public class CommentController {
 
     private final CommentService commentService;
-    private final org.springframework.messaging.simp.SimpMessagingTemplate messagingTemplate;
+    private final com.example.social.websocket.UserMessagingGateway messagingGateway;
 
     @PostMapping("/{postId}/comments")
     public CommentResponse addComment(
@@ -25,7 +25,7 @@ public class CommentController {
                 request);
 
         // Broadcast to /topic/posts/{postId}/comments
-        messagingTemplate.convertAndSend("/topic/posts/" + postId + "/comments", saved);
+        messagingGateway.send("/topic/posts/" + postId + "/comments", saved);
 
         return saved;
     }
@@ -37,4 +37,12 @@ public class CommentController {
             @RequestParam(defaultValue = "10") int size) {
         return commentService.getComments(postId, page, size);
     }
+
+    @GetMapping("/{postId}/comments/cursor")
+    public com.example.social.common.CursorPage<CommentResponse> getCommentsByCursor(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return commentService.getComments(postId, cursor, size);
+    }
 }
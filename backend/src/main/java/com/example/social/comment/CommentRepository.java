@@ -13,6 +13,16 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             """)
     Page<Comment> findByPostId(Long postId, Pageable pageable);
 
+    // Keyset variant of findByPostId: comments strictly after the (createdAt, id) cursor
+    @Query("""
+                SELECT c FROM Comment c
+                JOIN FETCH c.author
+                WHERE c.post.id = :postId
+                  AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id))
+                ORDER BY c.createdAt ASC, c.id ASC
+            """)
+    java.util.List<Comment> findByPostIdAfter(Long postId, java.time.LocalDateTime createdAt, Long id, Limit limit);
+
     void deleteByAuthor(com.example.social.user.User author);
 
     void deleteByPost(com.example.social.post.Post post);
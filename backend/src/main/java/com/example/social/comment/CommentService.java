@@ -53,6 +53,7 @@ public class CommentService {
                 }
 
                 Comment saved = commentRepository.save(comment);
+                postRepository.incrementCommentCount(post.getId(), 1);
 
                 // Send notification to post author if not self-comment
                 if (!post.getAuthor().getId().equals(user.getId())) {
@@ -75,6 +76,12 @@ public class CommentService {
                                         user.getUsername() + " replied to your comment");
                 }
 
+                notificationService.notifyMentions(
+                                com.example.social.common.ContentTokenizer.tokenize(saved.getContent()).mentions(),
+                                user,
+                                post.getId(),
+                                "mentioned you in a comment");
+
                 return new CommentResponse(
                                 saved.getId(),
                                 saved.getContent(),
@@ -88,13 +95,29 @@ public class CommentService {
 
                 Pageable pageable = PageRequest.of(page, size);
 
-                return commentRepository.findByPostId(postId, pageable)
-                                .map(c -> new CommentResponse(
-                                                c.getId(),
-                                                c.getContent(),
-                                                c.getAuthor().getUsername(),
-                                                c.getCreatedAt(),
-                                                c.getParentComment() != null ? c.getParentComment().getId() : null,
-                                                c.getAuthor().isVerified()));
+                return commentRepository.findByPostId(postId, pageable).map(this::toResponse);
+        }
+
+        public com.example.social.common.CursorPage<CommentResponse> getComments(Long postId, String cursor, int size) {
+                size = com.example.social.common.CursorPage.clampSize(size);
+                com.example.social.common.Cursor after = com.example.social.common.Cursor.decodeOr(cursor,
+                                com.example.social.common.Cursor.OLDEST);
+
+                return com.example.social.common.CursorPage.of(
+                                commentRepository.findByPostIdAfter(postId, after.createdAt(), after.id(),
+                                                Limit.of(size + 1)),
+                                size,
+                                c -> new com.example.social.common.Cursor(c.getCreatedAt(), c.getId()),
+                                comments -> comments.stream().map(this::toResponse).toList());
+        }
+
+        private CommentResponse toResponse(Comment c) {
+                return new CommentResponse(
+                                c.getId(),
+                                c.getContent(),
+                                c.getAuthor().getUsername(),
+                                c.getCreatedAt(),
+                                c.getParentComment() != null ? c.getParentComment().getId() : null,
+                                c.getAuthor().isVerified());
         }
 }
@@ -1,30 +1,57 @@
 package com.example.social.common;
 
+import com.example.social.moderation.ModerationTerm;
+import com.example.social.moderation.ModerationTermRepository;
+import com.example.social.moderation.TermMatcher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+/**
+ * Checks user text against the banned terms in {@code moderation_terms}.
+ *
+ * The terms are compiled into a {@link TermMatcher} that is swapped atomically
+ * on reload, so checks never block. Changes made through this service reload
+ * every node via Redis pub/sub; a periodic fingerprint check picks up edits
+ * made directly in the database or missed messages.
+ */
 @Service
-public class ContentModerationService {
+public class ContentModerationService implements MessageListener {
 
-    // Simple in-memory blocklist for now.
-    // In a real app, this would load from a database or external config.
-    private static final List<String> BANNED_WORDS = Arrays.asList(
-            "badword", "offensive", "spam", "scam", "hate", "violence");
+    private static final String RELOAD_CHANNEL = "moderation-terms:reload";
+
+    private final ModerationTermRepository termRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile TermMatcher matcher = TermMatcher.empty();
+    private volatile String fingerprint;
+
+    public ContentModerationService(
+            ModerationTermRepository termRepository,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
+        this.termRepository = termRepository;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(RELOAD_CHANNEL));
+        reload();
+    }
 
     public boolean isContentAllowed(String text) {
         if (text == null || text.isBlank()) {
             return true;
         }
-        String lowerCaseText = text.toLowerCase();
-        for (String word : BANNED_WORDS) {
-            // Simple containment check. regex could be better for whole word matching.
-            if (lowerCaseText.contains(word)) {
-                return false;
-            }
-        }
-        return true;
+        return !matcher.matches(text);
     }
 
     public void validateContent(String text) {
@@ -32,4 +59,92 @@ public class ContentModerationService {
             throw new com.example.social.exception.ContentViolationException("Content contains restricted words.");
         }
     }
+
+    public List<ModerationTerm> listTerms() {
+        return termRepository.findAll();
+    }
+
+    @Transactional
+    public ModerationTerm addTerm(String term, String createdBy) {
+        String normalized = TermMatcher.normalizeTerm(term);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Term must contain letters or digits");
+        }
+        if (normalized.codePointCount(0, normalized.length()) > TermMatcher.MAX_TERM_LENGTH) {
+            throw new IllegalArgumentException("Term is longer than " + TermMatcher.MAX_TERM_LENGTH + " characters");
+        }
+        if (termRepository.existsByTerm(normalized)) {
+            throw new IllegalArgumentException("Term already exists: " + normalized);
+        }
+        ModerationTerm saved = termRepository.save(new ModerationTerm(normalized, createdBy));
+        broadcastReloadAfterCommit();
+        return saved;
+    }
+
+    @Transactional
+    public void removeTerm(Long id) {
+        if (!termRepository.existsById(id)) {
+            throw new NoSuchElementException("Term not found: " + id);
+        }
+        termRepository.deleteById(id);
+        broadcastReloadAfterCommit();
+    }
+
+    /**
+     * Recompiles the dictionary from the database. On failure the previous
+     * dictionary stays in use.
+     */
+    public synchronized void reload() {
+        try {
+            String current = termRepository.fingerprint();
+            List<String> terms = termRepository.findAllTerms();
+            long started = System.nanoTime();
+            matcher = TermMatcher.compile(terms);
+            fingerprint = current;
+            System.out.println("Loaded " + matcher.size() + " moderation terms in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } catch (DataAccessException | IllegalArgumentException e) {
+            System.err.println("Could not load moderation terms: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${app.moderation.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        try {
+            if (!termRepository.fingerprint().equals(fingerprint)) {
+                reload();
+            }
+        } catch (DataAccessException e) {
+            System.err.println("Could not check moderation terms: " + e.getMessage());
+        }
+    }
+
+    // Reload broadcast from any node, including this one
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        reload();
+    }
+
+    private void broadcastReloadAfterCommit() {
+        Runnable broadcast = () -> {
+            try {
+                redisTemplate.convertAndSend(RELOAD_CHANNEL, "reload");
+            } catch (DataAccessException e) {
+                // Other nodes catch up on their next fingerprint check
+                System.err.println("Could not broadcast moderation reload: " + e.getMessage());
+                reload();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast.run();
+                }
+            });
+        } else {
+            broadcast.run();
+        }
+    }
 }
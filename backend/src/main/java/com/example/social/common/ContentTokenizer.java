@@ -0,0 +1,150 @@
+package com.example.social.common;
+
+import java.util.*;
+
+/**
+ * Finds hashtags, mentions and links in user text in a single left-to-right
+ * scan, replacing the separate regex passes in PostService and
+ * LinkPreviewService.
+ *
+ * Tags and mentions are {@code #} or {@code @} followed by ASCII word
+ * characters, and only count at the start of a word, so e-mail addresses are
+ * not mentions. Links start with {@code http://}, {@code https://} or
+ * {@code www.} and run to the next whitespace, minus trailing punctuation;
+ * nothing inside a link is read as a tag or mention.
+ */
+public final class ContentTokenizer {
+
+    private static final ContentTokens EMPTY = new ContentTokens(List.of());
+
+    private ContentTokenizer() {
+    }
+
+    public static ContentTokens tokenize(String content) {
+        if (content == null || content.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Token> tokens = null;
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+            boolean wordStart = i == 0 || !isWordChar(content.charAt(i - 1));
+            Token token = null;
+
+            if ((c == '#' || c == '@') && wordStart) {
+                int end = i + 1;
+                while (end < length && isWordChar(content.charAt(end))) {
+                    end++;
+                }
+                if (end > i + 1) {
+                    token = new Token(c == '#' ? TokenType.HASHTAG : TokenType.MENTION,
+                            content.substring(i + 1, end), i, end);
+                }
+            } else if ((c == 'h' || c == 'w') && wordStart) {
+                int prefix = urlPrefixLength(content, i);
+                if (prefix > 0) {
+                    int end = i + prefix;
+                    while (end < length && !Character.isWhitespace(content.charAt(end))) {
+                        end++;
+                    }
+                    end = trimUrlEnd(content, i + prefix, end);
+                    if (end > i + prefix) {
+                        token = new Token(TokenType.URL, content.substring(i, end), i, end);
+                    }
+                }
+            }
+
+            if (token == null) {
+                i++;
+                continue;
+            }
+            if (tokens == null) {
+                tokens = new ArrayList<>();
+            }
+            tokens.add(token);
+            i = token.end();
+        }
+        return tokens == null ? EMPTY : new ContentTokens(List.copyOf(tokens));
+    }
+
+    private static int urlPrefixLength(String content, int i) {
+        if (content.startsWith("https://", i)) {
+            return 8;
+        }
+        if (content.startsWith("http://", i)) {
+            return 7;
+        }
+        if (content.startsWith("www.", i)) {
+            return 4;
+        }
+        return 0;
+    }
+
+    // Drops sentence punctuation after a link, and a closing bracket that has
+    // no opening one inside it: "(see https://x.io/a)." ends at "/a"
+    private static int trimUrlEnd(String content, int bodyStart, int end) {
+        while (end > bodyStart) {
+            char last = content.charAt(end - 1);
+            if (".,;:!?'\"".indexOf(last) >= 0) {
+                end--;
+            } else if (last == ')' && content.lastIndexOf('(', end - 1) < bodyStart) {
+                end--;
+            } else {
+                break;
+            }
+        }
+        return end;
+    }
+
+    // Same characters as regex \w
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    public enum TokenType {
+        HASHTAG, MENTION, URL
+    }
+
+    /**
+     * One occurrence; {@code start} and {@code end} are offsets into the text
+     * (end exclusive) covering the {@code #}/{@code @} prefix. {@code value}
+     * is the tag or username without its prefix, or the link as written.
+     */
+    public record Token(TokenType type, String value, int start, int end) {
+    }
+
+    /**
+     * Immutable result of {@link #tokenize(String)}, in text order.
+     */
+    public record ContentTokens(List<Token> tokens) {
+
+        public Set<String> hashtags() {
+            return values(TokenType.HASHTAG);
+        }
+
+        public Set<String> mentions() {
+            return values(TokenType.MENTION);
+        }
+
+        public Optional<String> firstUrl() {
+            for (Token token : tokens) {
+                if (token.type() == TokenType.URL) {
+                    return Optional.of(token.value());
+                }
+            }
+            return Optional.empty();
+        }
+
+        private Set<String> values(TokenType type) {
+            Set<String> values = new LinkedHashSet<>();
+            for (Token token : tokens) {
+                if (token.type() == type) {
+                    values.add(token.value());
+                }
+            }
+            return Collections.unmodifiableSet(values);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.social.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is null on the last
+ * page. There is no total count, so no COUNT query is needed.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Keeps a client-supplied page size between 1 and {@link #MAX_SIZE}, so a
+     * request cannot fetch a whole table in one page.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from {@code size + 1} fetched rows; the extra row only
+     * tells whether another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int size,
+            Function<E, Cursor> cursorOf,
+            Function<List<E>, List<T>> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore && !page.isEmpty() ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(mapper.apply(page), next);
+    }
+}
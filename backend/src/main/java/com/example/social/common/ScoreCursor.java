@@ -0,0 +1,35 @@
+package com.example.social.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by (score, id) descending, such as a ranking.
+ * The score is encoded exactly, so equal scores resume at the right id.
+ */
+public record ScoreCursor(double score, Long id) {
+
+    public static final ScoreCursor HIGHEST = new ScoreCursor(Double.MAX_VALUE, Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = Double.toHexString(score) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}, or returns {@code start}
+     * when no token was sent.
+     */
+    public static ScoreCursor decodeOr(String token, ScoreCursor start) {
+        if (token == null || token.isBlank()) {
+            return start;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new ScoreCursor(Double.parseDouble(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
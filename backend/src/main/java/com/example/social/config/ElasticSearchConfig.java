@@ -1,12 +1,19 @@
 package com.example.social.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.data.elasticsearch.client.ClientConfiguration;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchConfiguration;
+import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
 import org.springframework.lang.NonNull;
 
-// @Configuration
-// @EnableElasticsearchRepositories(basePackages = "com.example.social.search")
+import java.time.Duration;
+
+// Only with app.search.elasticsearch-enabled; otherwise user search runs on Postgres
+@Configuration
+@ConditionalOnProperty(prefix = "app.search", name = "elasticsearch-enabled", havingValue = "true")
+@EnableElasticsearchRepositories(basePackages = "com.example.social.search")
 public class ElasticSearchConfig extends ElasticsearchConfiguration {
 
     @Value("${spring.elasticsearch.uris}")
@@ -23,6 +30,9 @@ public class ElasticSearchConfig extends ElasticsearchConfiguration {
     public ClientConfiguration clientConfiguration() {
         ClientConfiguration.MaybeSecureClientConfigurationBuilder builder = ClientConfiguration.builder()
                 .connectedTo(elasticsearchUri.replace("http://", "").replace("https://", ""));
+        // Short timeouts so searches fall back quickly when the cluster is down
+        builder.withConnectTimeout(Duration.ofSeconds(2))
+                .withSocketTimeout(Duration.ofSeconds(5));
 
         // Add authentication if credentials are provided
         if (username != null && !username.isEmpty() && password != null && !password.isEmpty()) {
@@ -0,0 +1,43 @@
+package com.example.social.config;
+
+import com.example.social.file.FileStorageService;
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Configuration
+public class MultipartConfig {
+
+    // Same limits as spring.servlet.multipart.*, but multipart temp files go
+    // under the upload directory so storing them is a rename instead of a copy.
+    // Built from AppProperties only, so the servlet container does not pull in
+    // the storage service and its database dependencies at startup.
+    @Bean
+    public MultipartConfigElement multipartConfigElement(
+            MultipartProperties multipartProperties,
+            AppProperties appProperties) {
+        MultipartConfigElement defaults = multipartProperties.createMultipartConfig();
+        String location = multipartProperties.getLocation();
+        if (location == null) {
+            Path incoming = Paths.get(appProperties.getUploadDir()).toAbsolutePath().normalize()
+                    .resolve(FileStorageService.INCOMING_DIR);
+            try {
+                Files.createDirectories(incoming);
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not create the multipart upload directory " + incoming, ex);
+            }
+            location = incoming.toString();
+        }
+        return new MultipartConfigElement(
+                location,
+                defaults.getMaxFileSize(),
+                defaults.getMaxRequestSize(),
+                defaults.getFileSizeThreshold());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.social.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fails startup when a paged {@code @Query} fetch-joins a collection. Hibernate
+ * cannot apply LIMIT/OFFSET to such a query and pages the full result in memory.
+ * Select an id page first and fetch the rows by id instead, as PostRepository does.
+ */
+@Component
+public class PaginationFetchGuard implements SmartInitializingSingleton {
+
+    private static final Pattern ROOT = Pattern.compile("(?i)\\bFROM\\s+(\\w+)\\s+(?:AS\\s+)?(\\w+)");
+    private static final Pattern FETCH = Pattern.compile("(?i)\\bJOIN\\s+FETCH\\s+(\\w+)\\.(\\w+)");
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PaginationFetchGuard(ListableBeanFactory beanFactory, EntityManagerFactory entityManagerFactory) {
+        this.beanFactory = beanFactory;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Metamodel metamodel = entityManagerFactory.getMetamodel();
+        Repositories repositories = new Repositories(beanFactory);
+        List<String> violations = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            Class<?> repository = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            for (Method method : repository.getMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (query == null || query.nativeQuery() || !isPaged(method)) {
+                    continue;
+                }
+                if (fetchesCollection(query.value(), domainType, metamodel)) {
+                    violations.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(
+                    "Paged queries must not JOIN FETCH a collection (Hibernate would page in memory): " + violations);
+        }
+    }
+
+    private static boolean isPaged(Method method) {
+        return Page.class.isAssignableFrom(method.getReturnType())
+                || Slice.class.isAssignableFrom(method.getReturnType())
+                || Arrays.stream(method.getParameterTypes())
+                        .anyMatch(type -> Pageable.class.isAssignableFrom(type) || Limit.class.equals(type));
+    }
+
+    private static boolean fetchesCollection(String jpql, Class<?> domainType, Metamodel metamodel) {
+        Matcher root = ROOT.matcher(jpql);
+        String rootAlias = root.find() ? root.group(2) : null;
+
+        Matcher fetch = FETCH.matcher(jpql);
+        while (fetch.find()) {
+            String alias = fetch.group(1);
+            String attribute = fetch.group(2);
+            if (alias.equals(rootAlias)) {
+                if (isCollection(metamodel.managedType(domainType), attribute)) {
+                    return true;
+                }
+            } else if (metamodel.getManagedTypes().stream().anyMatch(type -> isCollection(type, attribute))) {
+                // Nested join path: be conservative and flag any collection with that name
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCollection(ManagedType<?> type, String name) {
+        return type.getAttributes().stream()
+                .filter(attribute -> attribute.getName().equals(name))
+                .anyMatch(Attribute::isCollection);
+    }
+}
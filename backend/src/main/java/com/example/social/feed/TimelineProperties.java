@@ -0,0 +1,56 @@
+package com.example.social.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.timeline")
+public class TimelineProperties {
+
+    // Number of post ids kept per home timeline
+    private int maxSize = 800;
+
+    // Authors with more followers than this are merged on read instead of fanned
+    // out on write
+    private long celebrityFollowerThreshold = 10000;
+
+    // Timelines of users who stop reading expire and are rebuilt on next visit
+    private Duration ttl = Duration.ofDays(7);
+
+    // Number of follower timelines updated per Redis round trip
+    private int fanOutBatchSize = 500;
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getCelebrityFollowerThreshold() {
+        return celebrityFollowerThreshold;
+    }
+
+    public void setCelebrityFollowerThreshold(long celebrityFollowerThreshold) {
+        this.celebrityFollowerThreshold = celebrityFollowerThreshold;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getFanOutBatchSize() {
+        return fanOutBatchSize;
+    }
+
+    public void setFanOutBatchSize(int fanOutBatchSize) {
+        this.fanOutBatchSize = fanOutBatchSize;
+    }
+}
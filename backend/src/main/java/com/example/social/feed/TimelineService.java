@@ -0,0 +1,203 @@
+package com.example.social.feed;
+
+import com.example.social.follow.FollowRepository;
+import com.example.social.graph.SocialGraphService;
+import com.example.social.post.PostCreatedEvent;
+import com.example.social.post.PostRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Materialized home timelines: one Redis sorted set of post ids per user,
+ * filled when a post is created (fan-out on write). Post ids are monotonic with
+ * creation time, so the id doubles as the score.
+ *
+ * Authors above the follower threshold are not fanned out; their posts are
+ * merged in when a follower reads (fan-out on read).
+ */
+@Service
+public class TimelineService {
+
+    private static final String TIMELINE_KEY = "timeline:";
+    private static final String CELEBRITIES_KEY = "timeline:celebrities";
+
+    // Marks a built timeline so an empty one is not rebuilt on every read. It has
+    // the lowest score, so it is the first entry trimmed once the timeline fills.
+    private static final String SENTINEL = "0";
+
+    // Only touches timelines that already exist; missing ones are rebuilt from
+    // the database on next read and would otherwise start with a single entry.
+    private static final RedisScript<Long> FAN_OUT_SCRIPT = new DefaultRedisScript<>("""
+            local added = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('EXISTS', key) == 1 then
+                    redis.call('ZADD', key, ARGV[1], ARGV[1])
+                    redis.call('ZREMRANGEBYRANK', key, 0, -(tonumber(ARGV[2]) + 2))
+                    added = added + 1
+                end
+            end
+            return added
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final SocialGraphService socialGraph;
+    private final TimelineProperties properties;
+
+    public TimelineService(
+            StringRedisTemplate redisTemplate,
+            PostRepository postRepository,
+            FollowRepository followRepository,
+            SocialGraphService socialGraph,
+            TimelineProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.socialGraph = socialGraph;
+        this.properties = properties;
+    }
+
+    public int getMaxSize() {
+        return properties.getMaxSize();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        if (event.groupId() != null) {
+            return;
+        }
+
+        try {
+            List<Long> recipients = new ArrayList<>();
+            recipients.add(event.authorId());
+
+            long followers = followRepository.countByFollowingId(event.authorId());
+            if (followers > properties.getCelebrityFollowerThreshold()) {
+                redisTemplate.opsForSet().add(CELEBRITIES_KEY, event.authorId().toString());
+            } else {
+                recipients.addAll(followRepository.findFollowerIds(event.authorId()));
+            }
+
+            String postId = event.postId().toString();
+            String maxSize = String.valueOf(properties.getMaxSize());
+            int batchSize = Math.max(1, properties.getFanOutBatchSize());
+            for (int from = 0; from < recipients.size(); from += batchSize) {
+                List<String> keys = recipients.subList(from, Math.min(from + batchSize, recipients.size()))
+                        .stream()
+                        .map(TimelineService::timelineKey)
+                        .toList();
+                redisTemplate.execute(FAN_OUT_SCRIPT, keys, postId, maxSize);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Timeline fan-out failed for post " + event.postId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} post ids for the user's home timeline, newest
+     * first, strictly older than {@code beforeId} when given. Empty when the
+     * timeline store is unavailable, so callers can fall back to the database.
+     */
+    public Optional<List<Long>> readTimeline(Long userId, Long beforeId, int limit) {
+        String key = timelineKey(userId);
+        try {
+            ensureBuilt(userId, key);
+
+            double max = beforeId != null ? beforeId - 1 : Double.POSITIVE_INFINITY;
+            Set<String> members = redisTemplate.opsForZSet().reverseRangeByScore(key, 1, max, 0, limit);
+            redisTemplate.expire(key, properties.getTtl());
+
+            TreeSet<Long> merged = new TreeSet<>(Comparator.reverseOrder());
+            if (members != null) {
+                members.forEach(member -> merged.add(Long.valueOf(member)));
+            }
+            merged.addAll(readCelebrityPosts(userId, beforeId, limit));
+
+            return Optional.of(merged.stream().limit(limit).toList());
+        } catch (org.springframework.dao.DataAccessException e) {
+            System.err.println("Timeline store unavailable for user " + userId + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Drops the user's timeline once the surrounding transaction commits, e.g.
+     * after a follow or unfollow. It is rebuilt on next read.
+     */
+    public void invalidateAfterCommit(Long userId) {
+        Runnable evict = () -> {
+            try {
+                redisTemplate.delete(timelineKey(userId));
+            } catch (RuntimeException e) {
+                System.err.println("Could not invalidate timeline for user " + userId + ": " + e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private void ensureBuilt(Long userId, String key) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+
+        List<Long> ids = postRepository.findPersonalFeedIds(userId, Limit.of(properties.getMaxSize()));
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        tuples.add(new DefaultTypedTuple<>(SENTINEL, 0d));
+        for (Long id : ids) {
+            tuples.add(new DefaultTypedTuple<>(id.toString(), id.doubleValue()));
+        }
+        redisTemplate.opsForZSet().add(key, tuples);
+        redisTemplate.expire(key, properties.getTtl());
+    }
+
+    private List<Long> readCelebrityPosts(Long userId, Long beforeId, int limit) {
+        Set<String> celebrities = redisTemplate.opsForSet().members(CELEBRITIES_KEY);
+        if (celebrities == null || celebrities.isEmpty()) {
+            return List.of();
+        }
+
+        // The celebrity set is small and the follow set is cached, so this costs
+        // no query on a read
+        com.example.social.graph.LongSet following = socialGraph.following(userId);
+        List<Long> followed = celebrities.stream()
+                .map(Long::valueOf)
+                .filter(following::contains)
+                .toList();
+        if (followed.isEmpty()) {
+            return List.of();
+        }
+
+        return postRepository.findRecentIdsByAuthors(
+                followed,
+                beforeId != null ? beforeId : Long.MAX_VALUE,
+                Limit.of(limit));
+    }
+
+    private static String timelineKey(Long userId) {
+        return TIMELINE_KEY + userId;
+    }
+}
@@ -1,9 +1,8 @@
 package com.example.social.file;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.core.io.Resource;
-import org.springframework.http.ResponseEntity;
 
 @RestController
 @RequestMapping("/api/files")
@@ -20,14 +19,13 @@ public class FileController {
         return fileStorageService.storeFile(file);
     }
 
-    @GetMapping("/{fileName:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName,
-            jakarta.servlet.http.HttpServletRequest request) {
-        // This logic is likely already handled by static resource handler or another
-        // controller?
-        // If fileStorageService stores to local disk and serves via ResourceHandler, we
-        // might not need this.
-        // But for now, returning the URL string is enough for the upload endpoint.
-        return ResponseEntity.notFound().build(); // Placeholder if needed
+    // Raw request body instead of multipart: written to disk as it arrives,
+    // with no temp-file round trip. Downloads are served by MediaController.
+    @PostMapping(value = "/stream", consumes = {
+            MediaType.APPLICATION_OCTET_STREAM_VALUE, "video/*", "image/*", "audio/*" })
+    public FileStorageService.StoredFile uploadStream(
+            @RequestParam("filename") String filename,
+            jakarta.servlet.http.HttpServletRequest request) throws java.io.IOException {
+        return fileStorageService.storeStream(request.getInputStream(), filename);
     }
 }
@@ -1,70 +1,260 @@
 package com.example.social.file;
 
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @Service
 public class FileStorageService {
 
+    // Multipart temp files and partial streaming uploads. Being on the same
+    // filesystem as the storage root lets both be moved into place by rename.
+    public static final String INCOMING_DIR = ".incoming";
+
     private final Path fileStorageLocation;
+    private final Path incomingLocation;
+    private final long maxFileSize;
+    private final MediaStorageProperties mediaProperties;
+    private final MediaBlobStore mediaBlobStore;
+    private final ImageDerivativeService imageDerivativeService;
 
-    public FileStorageService(com.example.social.config.AppProperties appProperties) {
+    public FileStorageService(
+            com.example.social.config.AppProperties appProperties,
+            MultipartProperties multipartProperties,
+            MediaStorageProperties mediaProperties,
+            MediaBlobStore mediaBlobStore,
+            ImageDerivativeService imageDerivativeService) {
         this.fileStorageLocation = Paths.get(appProperties.getUploadDir()).toAbsolutePath().normalize();
+        this.incomingLocation = this.fileStorageLocation.resolve(INCOMING_DIR);
+        this.maxFileSize = multipartProperties.getMaxFileSize().toBytes();
+        this.mediaProperties = mediaProperties;
+        this.mediaBlobStore = mediaBlobStore;
+        this.imageDerivativeService = imageDerivativeService;
 
         try {
             Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.incomingLocation);
         } catch (Exception ex) {
             throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
         }
     }
 
     public String storeFile(MultipartFile file) {
-        // Normalize file name
-        String originalFileName = file.getOriginalFilename();
-        if (originalFileName == null) {
-            throw new RuntimeException("Invalid file name");
+        if (mediaProperties.isContentAddressed()) {
+            return storeBlob(file);
         }
 
-        // Generate unique filename
-        String ext = "";
-        int i = originalFileName.lastIndexOf('.');
-        if (i > 0) {
-            ext = originalFileName.substring(i);
+        String fileName = newFileName(file.getOriginalFilename());
+
+        try {
+            // transferTo renames the multipart temp file when it is on the same
+            // filesystem, so large uploads are not written a second time
+            Path targetLocation = this.fileStorageLocation.resolve(fileName);
+            file.transferTo(targetLocation);
+            imageDerivativeService.scheduleAfterCommit(fileName);
+
+            return "/uploads/" + fileName;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
         }
-        String fileName = UUID.randomUUID().toString() + ext;
+    }
 
+    // Moves the multipart temp file next to the blobs, hashes it in place and
+    // keeps it only if the content is not stored yet
+    private String storeBlob(MultipartFile file) {
+        String extension = extensionOf(file.getOriginalFilename());
+        Path partial = this.incomingLocation.resolve(UUID.randomUUID() + ".part");
         try {
-            // Check if the file's name contains invalid characters
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Sorry! Filename contains invalid path sequence " + fileName);
+            file.transferTo(partial);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            try (FileChannel in = FileChannel.open(partial, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                    size += read;
+                }
             }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String fileName = acquireBlob(partial, sha256, extension, size);
+            imageDerivativeService.scheduleAfterCommit(fileName);
+            return "/uploads/" + fileName;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename() + ". Please try again!", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            deletePartial(partial);
+        }
+    }
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Streams {@code content} to disk without buffering it first, computing its
+     * SHA-256 on the way. The file only becomes visible under its final name
+     * once it has been written completely.
+     */
+    public StoredFile storeStream(InputStream content, String originalFileName) {
+        String fileName = newFileName(originalFileName);
+        Path partial = this.incomingLocation.resolve(fileName + ".part");
 
-            return "/uploads/" + fileName;
+        try (InputStream input = content;
+                FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            long size = 0;
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                size += read;
+                if (size > maxFileSize) {
+                    throw new RuntimeException("File exceeds the maximum upload size");
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
+            out.force(false);
+            out.close();
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (mediaProperties.isContentAddressed()) {
+                fileName = acquireBlob(partial, sha256, extensionOf(originalFileName), size);
+            } else {
+                Files.move(partial, this.fileStorageLocation.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            }
+            imageDerivativeService.scheduleAfterCommit(fileName);
+            return new StoredFile("/uploads/" + fileName, sha256, size);
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            deletePartial(partial);
+        }
+    }
+
+    /**
+     * Resolves a stored file for serving. Rejects names that would leave the
+     * storage directory or point at hidden entries such as partial uploads.
+     */
+    public Path resolveStoredFile(String fileName) {
+        if (fileName == null || fileName.isBlank() || fileName.startsWith(".")) {
+            throw new NoSuchElementException("File not found: " + fileName);
+        }
+        Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+        if (!this.fileStorageLocation.equals(filePath.getParent()) || !Files.isRegularFile(filePath)) {
+            throw new NoSuchElementException("File not found: " + fileName);
         }
+        return filePath;
     }
 
+    /**
+     * Removes the file behind {@code url} once the surrounding transaction
+     * commits. Content-addressed blobs lose one reference and are only deleted
+     * with the last one.
+     */
     public void deleteFile(String url) {
+        if (url == null) {
+            return;
+        }
+        Runnable delete = () -> {
+            try {
+                // Extract filename from URL (e.g., "/uploads/abc.jpg" -> "abc.jpg")
+                String fileName = url.replace("/uploads/", "");
+                if (mediaBlobStore.release(fileName)) {
+                    return;
+                }
+                Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+
+                // Delete the file if it exists
+                java.nio.file.Files.deleteIfExists(filePath);
+                ImageVariant.deleteAll(this.fileStorageLocation, fileName);
+            } catch (Exception ex) {
+                // Log the error but don't throw - we don't want delete operations to fail if
+                // file doesn't exist
+                System.err.println("Could not delete file from URL: " + url + ". Error: " + ex.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete.run();
+                }
+            });
+        } else {
+            delete.run();
+        }
+    }
+
+    // The reference is committed on its own so the blob row is not held locked
+    // for the rest of the caller's transaction; if that transaction rolls back,
+    // nothing points at the blob any more and the reference is given back
+    private String acquireBlob(Path partial, String sha256, String extension, long size) {
+        String fileName = mediaBlobStore.acquire(partial, sha256, extension, size);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        mediaBlobStore.release(fileName);
+                    }
+                }
+            });
+        }
+        return fileName;
+    }
+
+    private void deletePartial(Path partial) {
         try {
-            // Extract filename from URL (e.g., "/uploads/abc.jpg" -> "abc.jpg")
-            String fileName = url.replace("/uploads/", "");
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+            Files.deleteIfExists(partial);
+        } catch (IOException ex) {
+            System.err.println("Could not remove partial upload " + partial + ": " + ex.getMessage());
+        }
+    }
 
-            // Delete the file if it exists
-            java.nio.file.Files.deleteIfExists(filePath);
-        } catch (Exception ex) {
-            // Log the error but don't throw - we don't want delete operations to fail if
-            // file doesn't exist
-            System.err.println("Could not delete file from URL: " + url + ". Error: " + ex.getMessage());
+    private String newFileName(String originalFileName) {
+        // Generate unique filename
+        return UUID.randomUUID().toString() + extensionOf(originalFileName);
+    }
+
+    static String extensionOf(String originalFileName) {
+        // Normalize file name
+        if (originalFileName == null) {
+            throw new RuntimeException("Invalid file name");
+        }
+
+        String ext = "";
+        int i = originalFileName.lastIndexOf('.');
+        if (i > 0) {
+            ext = originalFileName.substring(i).toLowerCase(java.util.Locale.ROOT);
         }
+
+        // Check if the file's name contains invalid characters
+        if (ext.contains("..") || ext.contains("/") || ext.contains("\\")) {
+            throw new RuntimeException("Sorry! Filename contains invalid path sequence " + ext);
+        }
+        return ext;
+    }
+
+    public record StoredFile(String url, String sha256, long size) {
     }
 }
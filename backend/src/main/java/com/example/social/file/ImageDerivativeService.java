@@ -0,0 +1,248 @@
+package com.example.social.file;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Produces {@link ImageVariant}s for uploaded images on a small dedicated pool,
+ * after the upload's transaction commits. The generated widths are recorded on
+ * every row that references the upload (post images, stories, avatars and
+ * banners); MediaController serves the best fit for a {@code ?w=} hint.
+ *
+ * Variants are progressive JPEGs written with the JDK's ImageIO encoder.
+ */
+@Service
+public class ImageDerivativeService {
+
+    // Formats ImageIO can decode without plugins; GIFs are left alone so
+    // animations are not flattened to their first frame
+    private static final Set<String> SOURCE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".bmp");
+
+    // table, URL column, column receiving the comma-separated variant widths
+    private static final List<String[]> VARIANT_COLUMNS = List.of(
+            new String[] { "post_images", "url", "variant_widths" },
+            new String[] { "stories", "image_url", "variant_widths" },
+            new String[] { "users", "profile_image_url", "profile_image_variants" },
+            new String[] { "users", "banner_image", "banner_image_variants" });
+
+    private final MediaStorageProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final org.springframework.cache.CacheManager cacheManager;
+    private final Path fileStorageLocation;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter generated;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Timer duration;
+
+    public ImageDerivativeService(
+            MediaStorageProperties properties,
+            JdbcTemplate jdbcTemplate,
+            org.springframework.cache.CacheManager cacheManager,
+            com.example.social.config.AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.fileStorageLocation = Paths.get(appProperties.getUploadDir()).toAbsolutePath().normalize();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getDerivativeWorkers(),
+                properties.getDerivativeWorkers(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getDerivativeQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        meterRegistry.gauge("media.derivatives.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("media.derivatives.active", executor, ThreadPoolExecutor::getActiveCount);
+        this.generated = meterRegistry.counter("media.derivatives.generated");
+        this.rejected = meterRegistry.counter("media.derivatives.rejected");
+        this.failed = meterRegistry.counter("media.derivatives.failed");
+        this.duration = meterRegistry.timer("media.derivatives.duration");
+    }
+
+    /**
+     * Queues variant generation for a stored file once the current transaction
+     * commits, so the referencing rows exist when the widths are recorded.
+     * Files that are not resizable images are ignored.
+     */
+    public void scheduleAfterCommit(String fileName) {
+        if (!properties.isDerivativesEnabled() || !isImage(fileName)) {
+            return;
+        }
+
+        Runnable submit = () -> {
+            try {
+                executor.execute(() -> duration.record(() -> generate(fileName)));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    private void generate(String fileName) {
+        Path source = fileStorageLocation.resolve(fileName);
+        try {
+            if (!Files.isRegularFile(source)) {
+                return;
+            }
+            int[] size = readSize(source);
+            if (size == null || (long) size[0] * size[1] > properties.getMaxSourcePixels()) {
+                return;
+            }
+
+            // Largest first, each step scaled from the previous one; identical
+            // content (content-addressed uploads) already has its files
+            List<ImageVariant> wanted = Arrays.stream(ImageVariant.values())
+                    .filter(variant -> variant.getMaxWidth() < size[0])
+                    .sorted(Comparator.comparingInt(ImageVariant::getMaxWidth).reversed())
+                    .toList();
+            boolean missing = wanted.stream()
+                    .anyMatch(variant -> !Files.exists(fileStorageLocation.resolve(variant.fileName(fileName))));
+
+            if (missing) {
+                BufferedImage current = Thumbnails.of(source.toFile()).scale(1.0).asBufferedImage();
+                for (ImageVariant variant : wanted) {
+                    current = Thumbnails.of(current).width(variant.getMaxWidth()).asBufferedImage();
+                    Path target = fileStorageLocation.resolve(variant.fileName(fileName));
+                    if (!Files.exists(target)) {
+                        writeJpeg(current, target);
+                        generated.increment();
+                    }
+                }
+            }
+
+            record(fileName, wanted);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            System.err.println("Could not generate variants for " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    private void record(String fileName, List<ImageVariant> variants) {
+        String widths = variants.stream()
+                .map(ImageVariant::getMaxWidth)
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String url = "/uploads/" + fileName;
+        boolean profileChanged = false;
+        for (String[] column : VARIANT_COLUMNS) {
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + column[0] + " SET " + column[2] + " = ? WHERE " + column[1] + " = ?",
+                    widths, url);
+            profileChanged |= updated > 0 && column[0].equals("users");
+        }
+        // Cached profiles were built before the variants existed
+        org.springframework.cache.Cache profiles = cacheManager.getCache("userProfiles");
+        if (profileChanged && profiles != null) {
+            profiles.clear();
+        }
+    }
+
+    // Reads only the header, so oversized images are rejected before decoding
+    private int[] readSize(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        // JPEG has no alpha channel: flatten transparent PNGs onto white
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(properties.getDerivativeQuality());
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        // Hidden temp name so a half-written variant is never served
+        Path partial = target.resolveSibling("." + target.getFileName() + ".part");
+        Files.deleteIfExists(partial);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(partial.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isImage(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 && SOURCE_EXTENSIONS.contains(fileName.substring(dot).toLowerCase(Locale.ROOT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.social.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Downscaled copies of an uploaded image, stored next to the original as
+ * {@code <name>_w<width>.jpg}. Variants wider than the original are never
+ * produced, so any of them may be missing.
+ */
+public enum ImageVariant {
+
+    THUMBNAIL(320),
+    MEDIUM(720),
+    LARGE(1440);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String fileName(String original) {
+        int dot = original.lastIndexOf('.');
+        String base = dot > 0 ? original.substring(0, dot) : original;
+        return base + "_w" + maxWidth + ".jpg";
+    }
+
+    /**
+     * Variants at least {@code width} pixels wide, smallest first. Empty when
+     * only the original is large enough.
+     */
+    public static List<ImageVariant> covering(int width) {
+        return Arrays.stream(values())
+                .filter(variant -> variant.maxWidth >= width)
+                .toList();
+    }
+
+    public static boolean isVariantName(String fileName) {
+        return Arrays.stream(values()).anyMatch(variant -> fileName.endsWith("_w" + variant.maxWidth + ".jpg"));
+    }
+
+    public static void deleteAll(Path directory, String original) {
+        for (ImageVariant variant : values()) {
+            try {
+                Files.deleteIfExists(directory.resolve(variant.fileName(original)));
+            } catch (IOException ex) {
+                System.err.println("Could not delete variant of " + original + ": " + ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.social.file;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * URLs of the {@link ImageVariant}s of one image, so clients can request a
+ * thumbnail or medium copy instead of the original. A field is null when that
+ * variant was not generated, e.g. because the original is narrower.
+ */
+public record ImageVariantUrls(String thumbnail, String medium, String large) implements Serializable {
+
+    /**
+     * @param widths the recorded variant widths, e.g. "320,720"
+     * @return null until variants have been generated for the image
+     */
+    public static ImageVariantUrls of(String url, String widths) {
+        if (url == null || widths == null || widths.isBlank()) {
+            return null;
+        }
+        List<String> present = Arrays.asList(widths.split(","));
+        return new ImageVariantUrls(
+                urlOf(url, present, ImageVariant.THUMBNAIL),
+                urlOf(url, present, ImageVariant.MEDIUM),
+                urlOf(url, present, ImageVariant.LARGE));
+    }
+
+    // MediaController serves the smallest variant at least w wide, i.e. exactly this one
+    private static String urlOf(String url, List<String> present, ImageVariant variant) {
+        String width = String.valueOf(variant.getMaxWidth());
+        return present.contains(width) ? url + "?w=" + width : null;
+    }
+}
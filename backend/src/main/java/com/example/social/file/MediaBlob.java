@@ -0,0 +1,51 @@
+package com.example.social.file;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored file in content-addressed mode. The file is named after its SHA-256,
+ * so identical uploads share one copy; {@code refCount} counts the rows that
+ * point at it and the file is removed when it drops to zero.
+ */
+@Entity
+@Table(name = "media_blobs")
+public class MediaBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false, unique = true)
+    private String fileName;
+
+    private long size;
+
+    private int refCount;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public MediaBlob() {
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
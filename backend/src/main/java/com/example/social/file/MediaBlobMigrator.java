@@ -0,0 +1,198 @@
+package com.example.social.file;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One-off scan that moves an existing uploads directory into the
+ * content-addressed layout. Enabled with {@code app.media.migrate-uploads=true};
+ * it runs at startup and is safe to re-run.
+ *
+ * For every file that is not yet a blob it hashes the content, rewrites the
+ * URLs that point at it to the blob name, and keeps a single copy. Reference
+ * counts are then recomputed from the referencing columns, which also repairs
+ * counts leaked by rolled-back uploads. Blobs nothing points at are reported,
+ * not deleted. Run it with uploads paused: an upload whose row is not yet
+ * committed would be recounted as unreferenced.
+ */
+@Component
+public class MediaBlobMigrator implements ApplicationRunner {
+
+    // Every column that stores an /uploads/ URL
+    private static final List<String[]> MEDIA_REFERENCES = List.of(
+            new String[] { "post_images", "url" },
+            new String[] { "posts", "image_url" },
+            new String[] { "posts", "video_url" },
+            new String[] { "users", "profile_image_url" },
+            new String[] { "users", "banner_image" },
+            new String[] { "stories", "image_url" },
+            new String[] { "messages", "image_url" },
+            new String[] { "messages", "voice_url" },
+            new String[] { "chat_groups", "image_url" },
+            new String[] { "social_groups", "cover_image_url" });
+
+    private final MediaStorageProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path fileStorageLocation;
+
+    public MediaBlobMigrator(
+            MediaStorageProperties properties,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            com.example.social.config.AppProperties appProperties) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fileStorageLocation = Paths.get(appProperties.getUploadDir()).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isMigrateUploads()) {
+            return;
+        }
+
+        System.out.println("Migrating uploads in " + fileStorageLocation + " to content-addressed storage");
+        int migrated = 0;
+        int duplicates = 0;
+        int failed = 0;
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(fileStorageLocation)) {
+            files = listing
+                    .filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith("."))
+                    // Variants are regenerated from, and deleted with, their original
+                    .filter(path -> !ImageVariant.isVariantName(path.getFileName().toString()))
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not list " + fileStorageLocation, e);
+        }
+
+        for (Path file : files) {
+            String legacyName = file.getFileName().toString();
+            if (isBlob(legacyName)) {
+                continue;
+            }
+            try {
+                if (migrate(file, legacyName)) {
+                    duplicates++;
+                } else {
+                    migrated++;
+                }
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                System.err.println("Could not migrate " + legacyName + ": " + e.getMessage());
+            }
+        }
+
+        int orphans = transactionTemplate.execute(status -> recountReferences());
+
+        System.out.println("Media migration done: " + migrated + " new blobs, " + duplicates
+                + " duplicates removed, " + failed + " failed, " + orphans + " unreferenced blobs");
+    }
+
+    /**
+     * @return true when the file duplicated an existing blob and was removed
+     */
+    private boolean migrate(Path file, String legacyName) throws IOException {
+        long size = Files.size(file);
+        String sha256 = hash(file);
+        String blobName = sha256 + FileStorageService.extensionOf(legacyName);
+
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.update("""
+                    INSERT INTO media_blobs (sha256, file_name, size, ref_count, created_at)
+                    VALUES (?, ?, ?, 0, NOW())
+                    ON CONFLICT (sha256) DO NOTHING
+                    """, sha256, blobName, size);
+            String storedName = jdbcTemplate.queryForObject(
+                    "SELECT file_name FROM media_blobs WHERE sha256 = ? FOR UPDATE", String.class, sha256);
+
+            String from = "/uploads/" + legacyName;
+            String to = "/uploads/" + storedName;
+            for (String[] reference : MEDIA_REFERENCES) {
+                jdbcTemplate.update(
+                        "UPDATE " + reference[0] + " SET " + reference[1] + " = ? WHERE " + reference[1] + " = ?",
+                        to, from);
+            }
+
+            // The database now points at the blob; move the file last so a
+            // failure leaves the legacy copy in place for the next run
+            try {
+                Path target = fileStorageLocation.resolve(storedName);
+                if (Files.exists(target)) {
+                    Files.delete(file);
+                    return true;
+                }
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                return false;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+    }
+
+    // Sets every ref_count to the number of rows pointing at the blob and
+    // returns how many blobs have none
+    private int recountReferences() {
+        StringBuilder references = new StringBuilder();
+        for (String[] reference : MEDIA_REFERENCES) {
+            if (!references.isEmpty()) {
+                references.append(" UNION ALL ");
+            }
+            references.append("SELECT ").append(reference[1]).append(" AS url FROM ").append(reference[0])
+                    .append(" WHERE ").append(reference[1]).append(" LIKE '/uploads/%'");
+        }
+
+        jdbcTemplate.update("UPDATE media_blobs SET ref_count = 0");
+        jdbcTemplate.update("""
+                UPDATE media_blobs b
+                SET ref_count = r.refs
+                FROM (
+                    SELECT SUBSTRING(url FROM 10) AS file_name, COUNT(*) AS refs
+                    FROM (%s) refs
+                    GROUP BY 1
+                ) r
+                WHERE r.file_name = b.file_name
+                """.formatted(references));
+
+        Integer orphans = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM media_blobs WHERE ref_count = 0", Integer.class);
+        return orphans != null ? orphans : 0;
+    }
+
+    private boolean isBlob(String fileName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM media_blobs WHERE file_name = ?", Integer.class, fileName);
+        return count != null && count > 0;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
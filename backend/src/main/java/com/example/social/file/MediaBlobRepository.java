@@ -0,0 +1,39 @@
+package com.example.social.file;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+
+    Optional<MediaBlob> findByFileName(String fileName);
+
+    @Query("SELECT b.fileName FROM MediaBlob b WHERE b.sha256 = :sha256")
+    Optional<String> findFileNameBySha256(@Param("sha256") String sha256);
+
+    // Adds a reference, creating the row for new content. An existing row keeps
+    // its file name, so callers must read it back rather than assume theirs.
+    @Modifying
+    @Query(value = """
+                INSERT INTO media_blobs (sha256, file_name, size, ref_count, created_at)
+                VALUES (:sha256, :fileName, :size, :refs, NOW())
+                ON CONFLICT (sha256) DO UPDATE SET ref_count = media_blobs.ref_count + EXCLUDED.ref_count
+            """, nativeQuery = true)
+    void addReferences(
+            @Param("sha256") String sha256,
+            @Param("fileName") String fileName,
+            @Param("size") long size,
+            @Param("refs") int refs);
+
+    // Returns 0 when the file is not a blob (e.g. a legacy UUID upload)
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount - 1 WHERE b.fileName = :fileName AND b.refCount > 0")
+    int removeReference(@Param("fileName") String fileName);
+
+    @Modifying
+    @Query("DELETE FROM MediaBlob b WHERE b.fileName = :fileName AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("fileName") String fileName);
+}
@@ -0,0 +1,76 @@
+package com.example.social.file;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Reference-counted blob files for content-addressed storage. Each method runs
+ * in its own short transaction: the blob row stays locked while its file is
+ * moved in or deleted, so a concurrent upload of the same content cannot see
+ * a row whose file is about to disappear.
+ */
+@Component
+public class MediaBlobStore {
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final Path fileStorageLocation;
+
+    public MediaBlobStore(
+            MediaBlobRepository mediaBlobRepository,
+            com.example.social.config.AppProperties appProperties) {
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.fileStorageLocation = Paths.get(appProperties.getUploadDir()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Adds a reference to the blob for {@code sha256}, moving {@code partial}
+     * into place if this is the first copy and discarding it otherwise.
+     *
+     * @return the stored file name
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public String acquire(Path partial, String sha256, String extension, long size) {
+        mediaBlobRepository.addReferences(sha256, sha256 + extension, size, 1);
+        String fileName = mediaBlobRepository.findFileNameBySha256(sha256).orElseThrow();
+        Path target = fileStorageLocation.resolve(fileName);
+
+        try {
+            if (Files.exists(target)) {
+                Files.deleteIfExists(partial);
+            } else {
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+        }
+        return fileName;
+    }
+
+    /**
+     * Drops one reference and deletes the file with the last one.
+     *
+     * @return false when {@code fileName} is not a tracked blob
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String fileName) {
+        if (mediaBlobRepository.removeReference(fileName) == 0) {
+            return false;
+        }
+        if (mediaBlobRepository.deleteIfUnreferenced(fileName) == 1) {
+            try {
+                Files.deleteIfExists(fileStorageLocation.resolve(fileName));
+            } catch (IOException ex) {
+                System.err.println("Could not delete blob " + fileName + ": " + ex.getMessage());
+            }
+            ImageVariant.deleteAll(fileStorageLocation, fileName);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.social.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Serves uploaded media with single-range requests (video seeking), ETag and
+ * Last-Modified validation. On Tomcat the body is handed to the connector's
+ * sendfile support so bytes go from the page cache to the socket without
+ * passing through the JVM; elsewhere it falls back to FileChannel.transferTo.
+ *
+ * Images accept a {@code ?w=} display width and are answered with the smallest
+ * generated {@link ImageVariant} at least that wide, or the original.
+ */
+@RestController
+public class MediaController {
+
+    // Tomcat request attributes for connector-level sendfile
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Stored names are random and never reused, so clients may cache forever
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // A ?w= request answered with the original may get a variant shortly
+    private static final String CACHE_CONTROL_PENDING_VARIANT = "public, max-age=300";
+
+    private final FileStorageService fileStorageService;
+
+    public MediaController(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    @GetMapping({ "/uploads/{fileName:.+}", "/api/files/{fileName:.+}" })
+    public void serve(
+            @PathVariable String fileName,
+            @RequestParam(name = "w", required = false) Integer width,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Path file = fileStorageService.resolveStoredFile(fileName);
+        String cacheControl = CACHE_CONTROL;
+        if (width != null && width > 0) {
+            String variant = bestFit(fileName, width);
+            if (variant.equals(fileName)) {
+                if (!ImageVariant.covering(width).isEmpty()) {
+                    cacheControl = CACHE_CONTROL_PENDING_VARIANT;
+                }
+            } else {
+                fileName = variant;
+                file = fileStorageService.resolveStoredFile(fileName);
+            }
+        }
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        // Handles If-None-Match / If-Modified-Since and sets ETag and Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        ByteRange range = ByteRange.full(length);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            ByteRange requested = ByteRange.parse(rangeHeader, length);
+            if (requested == ByteRange.UNSATISFIABLE) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (requested != null) {
+                range = requested;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + range.end() + "/" + length);
+            }
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+        response.setContentLengthLong(range.length());
+
+        if ("HEAD".equals(request.getMethod()) || range.length() == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // Variants are generated asynchronously and only below the original's width,
+    // so fall back to larger ones and finally the original when they are missing
+    private String bestFit(String fileName, int width) {
+        for (ImageVariant variant : ImageVariant.covering(width)) {
+            String candidate = variant.fileName(fileName);
+            try {
+                fileStorageService.resolveStoredFile(candidate);
+                return candidate;
+            } catch (NoSuchElementException e) {
+                // not generated (yet)
+            }
+        }
+        return fileName;
+    }
+
+    // A Range is only honoured when If-Range is absent or still matches; otherwise
+    // the client's partial copy is stale and it needs the whole file
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Inclusive byte range within a file.
+     */
+    record ByteRange(long start, long end) {
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        static ByteRange full(long length) {
+            return new ByteRange(0, length - 1);
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+
+        /**
+         * @return the requested range, {@link #UNSATISFIABLE}, or null when the
+         *         header should be ignored (malformed or multiple ranges)
+         */
+        static ByteRange parse(String header, long length) {
+            if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+                return null;
+            }
+            String spec = header.substring("bytes=".length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                String first = spec.substring(0, dash).trim();
+                String last = spec.substring(dash + 1).trim();
+
+                if (first.isEmpty()) {
+                    // Suffix range: the final N bytes
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0 || length == 0) {
+                        return UNSATISFIABLE;
+                    }
+                    return new ByteRange(Math.max(0, length - suffix), length - 1);
+                }
+
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                if (end < start) {
+                    return null;
+                }
+                if (start >= length) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(start, Math.min(end, length - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.social.file;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.media")
+public class MediaStorageProperties {
+
+    // Name new uploads after their SHA-256 and store identical content once
+    private boolean contentAddressed = false;
+
+    // Runs MediaBlobMigrator at startup: moves existing uploads into the
+    // content-addressed layout and recounts references
+    private boolean migrateUploads = false;
+
+    // Generate ImageVariant copies of uploaded images in the background
+    private boolean derivativesEnabled = true;
+
+    // Threads resizing images; resizing is CPU bound, so keep this small
+    private int derivativeWorkers = 2;
+
+    // Images waiting for a worker; beyond this uploads are served at full size only
+    private int derivativeQueueCapacity = 200;
+
+    // JPEG quality of the variants, 0.0 to 1.0
+    private float derivativeQuality = 0.8f;
+
+    // Larger sources are skipped rather than decoded (decompression bombs)
+    private long maxSourcePixels = 50_000_000;
+
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    public void setContentAddressed(boolean contentAddressed) {
+        this.contentAddressed = contentAddressed;
+    }
+
+    public boolean isMigrateUploads() {
+        return migrateUploads;
+    }
+
+    public void setMigrateUploads(boolean migrateUploads) {
+        this.migrateUploads = migrateUploads;
+    }
+
+    public boolean isDerivativesEnabled() {
+        return derivativesEnabled;
+    }
+
+    public void setDerivativesEnabled(boolean derivativesEnabled) {
+        this.derivativesEnabled = derivativesEnabled;
+    }
+
+    public int getDerivativeWorkers() {
+        return derivativeWorkers;
+    }
+
+    public void setDerivativeWorkers(int derivativeWorkers) {
+        this.derivativeWorkers = derivativeWorkers;
+    }
+
+    public int getDerivativeQueueCapacity() {
+        return derivativeQueueCapacity;
+    }
+
+    public void setDerivativeQueueCapacity(int derivativeQueueCapacity) {
+        this.derivativeQueueCapacity = derivativeQueueCapacity;
+    }
+
+    public float getDerivativeQuality() {
+        return derivativeQuality;
+    }
+
+    public void setDerivativeQuality(float derivativeQuality) {
+        this.derivativeQuality = derivativeQuality;
+    }
+
+    public long getMaxSourcePixels() {
+        return maxSourcePixels;
+    }
+
+    public void setMaxSourcePixels(long maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.social.follow;
+
+/**
+ * Published when a follow is created ({@code following} true) or removed,
+ * including removals caused by a block.
+ */
+public record FollowChangedEvent(Long followerId, Long followingId, boolean following) {
+}
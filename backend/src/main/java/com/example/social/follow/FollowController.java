@@ -1,5 +1,9 @@
 package com.example.social.follow;
 
+import com.example.social.common.CursorPage;
+import com.example.social.follow.dto.FollowUserResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -29,4 +33,32 @@ public class FollowController {
     public List<String> getFollowers(@PathVariable String username) {
         return followService.getFollowers(username);
     }
+
+    @GetMapping("/{username}/followers/cursor")
+    @Operation(summary = "Get followers by cursor", description = "Newest followers first; pass the returned nextCursor to get the next page")
+    public CursorPage<FollowUserResponse> getFollowersByCursor(
+            @PathVariable String username,
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return followService.getFollowers(username, cursor, size);
+    }
+
+    @GetMapping("/{username}/following/cursor")
+    @Operation(summary = "Get followed users by cursor", description = "Most recently followed first; pass the returned nextCursor to get the next page")
+    public CursorPage<FollowUserResponse> getFollowingByCursor(
+            @PathVariable String username,
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return followService.getFollowing(username, cursor, size);
+    }
+
+    @GetMapping("/{username}/mutuals")
+    @Operation(summary = "Get mutual connections", description = "Followers of the user that you also follow; pass the returned nextCursor to get the next page")
+    public CursorPage<FollowUserResponse> getMutuals(
+            @PathVariable String username,
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return followService.getMutuals(authentication.getName(), username, cursor, size);
+    }
 }
@@ -1,7 +1,10 @@
 package com.example.social.follow;
 
 import com.example.social.user.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -19,6 +22,58 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     long countByFollowing(User following);
 
+    long countByFollowingId(Long followingId);
+
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.following.id = :userId")
+    List<Long> findFollowerIds(@Param("userId") Long userId);
+
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :userId")
+    List<Long> findFollowingIds(@Param("userId") Long userId);
+
+    @Query("SELECT u.username FROM Follow f JOIN f.follower u WHERE f.following.id = :userId ORDER BY f.id DESC")
+    List<String> findFollowerUsernames(@Param("userId") Long userId);
+
+    @Query("SELECT u.username FROM Follow f JOIN f.following u WHERE f.follower.id = :userId ORDER BY f.id DESC")
+    List<String> findFollowingUsernames(@Param("userId") Long userId);
+
+    // Keyset pages, newest follow first, of the user's followers and followings
+    @Query("""
+                SELECT new com.example.social.follow.FollowUserRow(f.id, u.username, u.profileImageUrl, u.verified)
+                FROM Follow f JOIN f.follower u
+                WHERE f.following.id = :userId AND f.id < :beforeId
+                ORDER BY f.id DESC
+            """)
+    List<FollowUserRow> findFollowersBefore(
+            @Param("userId") Long userId,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    @Query("""
+                SELECT new com.example.social.follow.FollowUserRow(f.id, u.username, u.profileImageUrl, u.verified)
+                FROM Follow f JOIN f.following u
+                WHERE f.follower.id = :userId AND f.id < :beforeId
+                ORDER BY f.id DESC
+            """)
+    List<FollowUserRow> findFollowingBefore(
+            @Param("userId") Long userId,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    // Followers of :userId that :viewerId follows: the intersection of the two
+    // sets as one join, paged like findFollowersBefore
+    @Query("""
+                SELECT new com.example.social.follow.FollowUserRow(f.id, u.username, u.profileImageUrl, u.verified)
+                FROM Follow f JOIN f.follower u, Follow mine
+                WHERE f.following.id = :userId AND f.id < :beforeId
+                  AND mine.follower.id = :viewerId AND mine.following.id = u.id
+                ORDER BY f.id DESC
+            """)
+    List<FollowUserRow> findFollowersFollowedByBefore(
+            @Param("userId") Long userId,
+            @Param("viewerId") Long viewerId,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
     void deleteByFollower(User follower);
 
     void deleteByFollowing(User following);
@@ -1,10 +1,15 @@
 package com.example.social.follow;
 
+import com.example.social.common.CursorPage;
+import com.example.social.follow.dto.FollowUserResponse;
 import com.example.social.user.User;
 import com.example.social.user.UserRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -12,19 +17,25 @@ public class FollowService {
 
         private final FollowRepository followRepository;
         private final UserRepository userRepository;
-        private final com.example.social.user.BlockRepository blockRepository;
+        private final com.example.social.graph.SocialGraphService socialGraph;
 
         private final com.example.social.notification.NotificationService notificationService;
+        private final com.example.social.feed.TimelineService timelineService;
+        private final org.springframework.context.ApplicationEventPublisher eventPublisher;
 
         public FollowService(
                         FollowRepository followRepository,
                         UserRepository userRepository,
-                        com.example.social.user.BlockRepository blockRepository,
-                        com.example.social.notification.NotificationService notificationService) {
+                        com.example.social.graph.SocialGraphService socialGraph,
+                        com.example.social.notification.NotificationService notificationService,
+                        com.example.social.feed.TimelineService timelineService,
+                        org.springframework.context.ApplicationEventPublisher eventPublisher) {
                 this.followRepository = followRepository;
                 this.userRepository = userRepository;
-                this.blockRepository = blockRepository;
+                this.socialGraph = socialGraph;
                 this.notificationService = notificationService;
+                this.timelineService = timelineService;
+                this.eventPublisher = eventPublisher;
         }
 
         @Transactional
@@ -41,21 +52,23 @@ public class FollowService {
                 User following = userRepository.findByUsername(followingUsername)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-                if (blockRepository.existsByBlockerAndBlocked(following, follower)) {
+                if (socialGraph.isBlocking(following.getId(), follower.getId())) {
                         throw new RuntimeException("Cannot follow: You are blocked");
                 }
-                if (blockRepository.existsByBlockerAndBlocked(follower, following)) {
+                if (socialGraph.isBlocking(follower.getId(), following.getId())) {
                         throw new RuntimeException("Cannot follow: You have blocked this user");
                 }
 
                 if (followRepository.existsByFollowerAndFollowing(follower, following)) {
                         followRepository.deleteByFollowerAndFollowing(follower, following);
+                        eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), following.getId(), false));
                 } else {
                         Follow follow = Follow.builder()
                                         .follower(follower)
                                         .following(following)
                                         .build();
                         followRepository.save(follow);
+                        eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), following.getId(), true));
 
                         notificationService.create(
                                         following,
@@ -64,29 +77,81 @@ public class FollowService {
                                         follower.getUsername(),
                                         follower.getUsername() + " followed you");
                 }
+
+                // The follower's home timeline no longer matches who they follow
+                timelineService.invalidateAfterCommit(follower.getId());
         }
 
-        @Transactional
+        // Usernames only, read with one projection query. Unbounded; the cursor
+        // variants below are the ones to use for large accounts
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public List<String> getFollowing(String username) {
+                return followRepository.findFollowingUsernames(requireUser(username).getId());
+        }
 
-                User user = userRepository.findByUsername(username)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public List<String> getFollowers(String username) {
+                return followRepository.findFollowerUsernames(requireUser(username).getId());
+        }
 
-                return followRepository.findByFollower(user)
-                                .stream()
-                                .map(f -> f.getFollowing().getUsername())
-                                .toList();
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public CursorPage<FollowUserResponse> getFollowers(String username, String cursor, int size) {
+                size = CursorPage.clampSize(size);
+                Long userId = requireUser(username).getId();
+                return page(followRepository.findFollowersBefore(userId, decodeBefore(cursor), Limit.of(size + 1)),
+                                size);
         }
 
-        @Transactional
-        public List<String> getFollowers(String username) {
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public CursorPage<FollowUserResponse> getFollowing(String username, String cursor, int size) {
+                size = CursorPage.clampSize(size);
+                Long userId = requireUser(username).getId();
+                return page(followRepository.findFollowingBefore(userId, decodeBefore(cursor), Limit.of(size + 1)),
+                                size);
+        }
 
-                User user = userRepository.findByUsername(username)
+        /**
+         * Followers of {@code username} that the viewer also follows.
+         */
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public CursorPage<FollowUserResponse> getMutuals(String viewerUsername, String username, String cursor,
+                        int size) {
+                size = CursorPage.clampSize(size);
+                Long viewerId = requireUser(viewerUsername).getId();
+                Long userId = requireUser(username).getId();
+                return page(followRepository.findFollowersFollowedByBefore(
+                                userId, viewerId, decodeBefore(cursor), Limit.of(size + 1)), size);
+        }
+
+        private User requireUser(String username) {
+                return userRepository.findByUsername(username)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
+        }
+
+        // Rows are fetched size + 1 at a time; the extra row only signals another page
+        private static CursorPage<FollowUserResponse> page(List<FollowUserRow> rows, int size) {
+                boolean hasMore = rows.size() > size;
+                List<FollowUserRow> page = hasMore ? rows.subList(0, size) : rows;
+                String next = hasMore && !page.isEmpty() ? encodeBefore(page.get(page.size() - 1).followId()) : null;
+                return new CursorPage<>(page.stream()
+                                .map(row -> new FollowUserResponse(row.username(), row.profileImageUrl(), row.verified()))
+                                .toList(), next);
+        }
 
-                return followRepository.findByFollowing(user)
-                                .stream()
-                                .map(f -> f.getFollower().getUsername())
-                                .toList();
+        // Follow lists are ordered by follow id alone, so the cursor is just that id
+        private static String encodeBefore(Long followId) {
+                return Base64.getUrlEncoder().withoutPadding()
+                                .encodeToString(followId.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Long decodeBefore(String cursor) {
+                if (cursor == null || cursor.isBlank()) {
+                        return Long.MAX_VALUE;
+                }
+                try {
+                        return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+                } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Invalid cursor");
+                }
         }
 }
@@ -0,0 +1,8 @@
+package com.example.social.follow;
+
+/**
+ * Projection of one side of a follow: just the columns follower and following
+ * lists show, plus the follow id that orders and pages them.
+ */
+public record FollowUserRow(Long followId, String username, String profileImageUrl, boolean verified) {
+}
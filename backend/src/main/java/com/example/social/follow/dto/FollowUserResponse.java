@@ -0,0 +1,7 @@
+package com.example.social.follow.dto;
+
+public record FollowUserResponse(
+        String username,
+        String profileImageUrl,
+        boolean verified) {
+}
@@ -0,0 +1,33 @@
+package com.example.social.graph;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.social-graph")
+public class SocialGraphProperties {
+
+    // Users whose follow and block sets are held in memory, least recently used evicted
+    private int maxUsers = 50000;
+
+    // Upper bound on staleness if an invalidation is lost, e.g. while Redis is down
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
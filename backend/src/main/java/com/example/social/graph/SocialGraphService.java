@@ -0,0 +1,116 @@
+package com.example.social.graph;
+
+import com.example.social.follow.FollowChangedEvent;
+import com.example.social.follow.FollowRepository;
+import com.example.social.user.BlockChangedEvent;
+import com.example.social.user.BlockRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory follow and block checks, replacing an exists query per item.
+ *
+ * Each user's followed and blocked ids are loaded on first use into
+ * {@link LongSet}s and kept in a bounded cache, least recently used evicted.
+ * FollowService and UserService publish {@link FollowChangedEvent}s and
+ * {@link BlockChangedEvent}s; after commit the affected users are dropped
+ * here and on every other node through Redis pub/sub, and reloaded on next
+ * use.
+ *
+ * Use it for read paths. Writes that must see their own transaction, such as
+ * deciding whether a toggle creates or deletes a row, still ask the database.
+ */
+@Service
+public class SocialGraphService implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "social-graph:invalidate";
+
+    private final FollowRepository followRepository;
+    private final BlockRepository blockRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, LongSet> following;
+    private final Cache<Long, LongSet> blocking;
+
+    public SocialGraphService(
+            FollowRepository followRepository,
+            BlockRepository blockRepository,
+            StringRedisTemplate redisTemplate,
+            SocialGraphProperties properties,
+            RedisMessageListenerContainer listenerContainer) {
+        this.followRepository = followRepository;
+        this.blockRepository = blockRepository;
+        this.redisTemplate = redisTemplate;
+        this.following = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.blocking = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Ids of the users {@code userId} follows.
+     */
+    public LongSet following(long userId) {
+        return following.get(userId, id -> LongSet.of(followRepository.findFollowingIds(id)));
+    }
+
+    public boolean isFollowing(long followerId, long followingId) {
+        return following(followerId).contains(followingId);
+    }
+
+    public boolean isBlocking(long blockerId, long blockedId) {
+        return blocking.get(blockerId, id -> LongSet.of(blockRepository.findBlockedIds(id))).contains(blockedId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        invalidate("f:" + event.followerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlockChanged(BlockChangedEvent event) {
+        invalidate("b:" + event.blockerId());
+    }
+
+    // Invalidation broadcast from any node, including this one
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        drop(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void invalidate(String key) {
+        // Dropped locally first, so this node is consistent even without Redis
+        drop(key);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, key);
+        } catch (DataAccessException e) {
+            System.err.println("Could not share social graph invalidation " + key + ": " + e.getMessage());
+        }
+    }
+
+    private void drop(String key) {
+        if (key.length() < 3 || key.charAt(1) != ':') {
+            return;
+        }
+        Long userId = Long.valueOf(key.substring(2));
+        if (key.charAt(0) == 'f') {
+            following.invalidate(userId);
+        } else if (key.charAt(0) == 'b') {
+            blocking.invalidate(userId);
+        }
+    }
+}
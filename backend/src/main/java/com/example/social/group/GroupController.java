@@ -2,7 +2,6 @@ package com.example.social.group;
 
 import com.example.social.group.dto.GroupRequest;
 import com.example.social.group.dto.GroupResponse;
-import com.example.social.post.Post;
 import com.example.social.post.dto.PostResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,40 +16,9 @@ import java.util.List;
 public class GroupController {
 
     private final GroupService groupService;
-    // We might need PostService to map posts, or do mapping in GroupService?
-    // GroupService returns Post entities, so we need to map them here or in
-    // service.
-    // PostService has mapToResponse which is private inside it.
-    // Ideally PostService should handle post retrieval logic including mapping.
-    // But GroupService implements getGroupFeed(groupId).
-    // Let's refactor GroupService to return Page<PostResponse> by using
-    // PostService's mapper?
-    // Or simpler: GroupController maps it? PostResponse mapping requires logic
-    // (likedByMe etc).
-    // Better: GroupService returns Page<PostResponse> and uses a PostMapper or
-    // calls PostService.
-    // Let's defer PostResponse mapping to GroupService, assuming we can make
-    // mapToResponse public/accessible or duplicate logic?
-    // No, duplicate is bad.
-    // I already injected PostRepository into GroupService. PostService is better
-    // suited to map.
-    // Let's inject PostService into GroupService? Circular dependency: PostService
-    // -> GroupRepository, GroupService -> PostService.
-    // Avoiding circular dependency: Extract PostMapper. Or use helper.
-    // For now, let's keep getGroupFeed in GroupService as Page<Post> and map it in
-    // Controller?
-    // But Controller doesn't have access to likes/saved logic easily without
-    // duplicating.
-    // Cleanest short-term: Inject PostService into GroupController and use it to
-    // map posts?
-    // PostService doesn't have a public map method.
-    // I will add a public map method to PostService.
-
-    private final com.example.social.post.PostService postService;
-
-    public GroupController(GroupService groupService, com.example.social.post.PostService postService) {
+
+    public GroupController(GroupService groupService) {
         this.groupService = groupService;
-        this.postService = postService;
     }
 
     @PostMapping
@@ -95,14 +63,8 @@ public class GroupController {
             @RequestParam(defaultValue = "10") int size,
             Authentication auth) {
 
-        // Assuming GroupService returns Page<Post>
-        Page<Post> posts = groupService.getGroupFeed(id, PageRequest.of(page, size, Sort.by("createdAt").descending()));
-
-        // Use PostService to map (I need to expose a mapping method or utilize existing
-        // one)
-        // Since I can't easily expose private method, I'll add a method to PostService:
-        // mapPosts(Page<Post> posts, String username)
-        return postService.mapPosts(posts, auth.getName());
+        return groupService.getGroupFeed(id, auth.getName(),
+                PageRequest.of(page, size, Sort.by("createdAt").descending()));
     }
 
     @PutMapping("/{id}")
@@ -26,6 +26,8 @@ public class GroupService {
     private final PostRepository postRepository;
     private final com.example.social.notification.NotificationService notificationService;
     private final com.example.social.group.event.GroupEventRepository groupEventRepository;
+    private final com.example.social.post.PostHydrator postHydrator;
+    private final com.example.social.poll.PollRepository pollRepository;
 
     public GroupService(
             GroupRepository groupRepository,
@@ -34,7 +36,9 @@ public class GroupService {
             UserService userService,
             PostRepository postRepository,
             com.example.social.notification.NotificationService notificationService,
-            com.example.social.group.event.GroupEventRepository groupEventRepository) {
+            com.example.social.group.event.GroupEventRepository groupEventRepository,
+            com.example.social.post.PostHydrator postHydrator,
+            com.example.social.poll.PollRepository pollRepository) {
 
         this.groupRepository = groupRepository;
         this.groupMemberRepository = groupMemberRepository;
@@ -43,6 +47,8 @@ public class GroupService {
         this.postRepository = postRepository;
         this.notificationService = notificationService;
         this.groupEventRepository = groupEventRepository;
+        this.postHydrator = postHydrator;
+        this.pollRepository = pollRepository;
     }
 
     @Transactional
@@ -466,6 +472,7 @@ public class GroupService {
         }
 
         // Manual Cascade Delete
+        pollRepository.deleteByPostGroup(group);
         postRepository.deleteByGroup(group);
         groupEventRepository.deleteByGroup(group);
 
@@ -542,8 +549,10 @@ public class GroupService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Post> getGroupFeed(Long groupId, Pageable pageable) {
+    public Page<com.example.social.post.dto.PostResponse> getGroupFeed(Long groupId, String username,
+            Pageable pageable) {
+        User viewer = userService.getUserByUsername(username);
         Group group = getGroupEntity(groupId);
-        return postRepository.findByGroup(group, pageable);
+        return postHydrator.hydrate(postRepository.findPage(postRepository.findIdsByGroup(group, pageable)), viewer.getId());
     }
 }
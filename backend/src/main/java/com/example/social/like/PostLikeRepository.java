@@ -3,7 +3,11 @@ package com.example.social.like;
 import com.example.social.post.Post;
 import com.example.social.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
@@ -19,4 +23,11 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     void deleteByUser(User user);
 
     void deleteByPost(Post post);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("DELETE FROM PostLike l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int removeLike(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Query("SELECT l.post.id FROM PostLike l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
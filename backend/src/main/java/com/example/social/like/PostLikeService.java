@@ -37,13 +37,15 @@ public class PostLikeService {
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
         if (postLikeRepository.existsByUserAndPost(user, post)) {
-            postLikeRepository.deleteByUserAndPost(user, post);
+            int removed = postLikeRepository.removeLike(user.getId(), post.getId());
+            postRepository.incrementLikeCount(post.getId(), -removed);
         } else {
             PostLike like = PostLike.builder()
                     .user(user)
                     .post(post)
                     .build();
             postLikeRepository.save(like);
+            postRepository.incrementLikeCount(post.getId(), 1);
 
             // Send notification to post author if it's not the liker themselves
             if (!post.getAuthor().getId().equals(user.getId())) {
@@ -56,6 +58,6 @@ public class PostLikeService {
             }
         }
 
-        return postLikeRepository.countByPost(post);
+        return postRepository.findLikeCount(post.getId());
     }
 }
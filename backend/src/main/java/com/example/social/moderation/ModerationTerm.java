@@ -0,0 +1,50 @@
+package com.example.social.moderation;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A banned word or phrase. {@code term} is stored normalized (see
+ * {@link TermMatcher#normalizeTerm(String)}), which also makes it the
+ * duplicate key.
+ */
+@Entity
+@Table(name = "moderation_terms")
+public class ModerationTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 255)
+    private String term;
+
+    private String createdBy;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ModerationTerm() {
+    }
+
+    public ModerationTerm(String term, String createdBy) {
+        this.term = term;
+        this.createdBy = createdBy;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.social.moderation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ModerationTermRepository extends JpaRepository<ModerationTerm, Long> {
+
+    boolean existsByTerm(String term);
+
+    @Query("SELECT t.term FROM ModerationTerm t")
+    List<String> findAllTerms();
+
+    // Cheap change detector for the periodic reload: any insert, delete or
+    // edit changes the count or the hash sum
+    @Query(value = "SELECT COUNT(*) || ':' || COALESCE(SUM(hashtext(term)::bigint), 0) FROM moderation_terms",
+            nativeQuery = true)
+    String fingerprint();
+}
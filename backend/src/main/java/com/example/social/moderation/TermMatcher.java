@@ -0,0 +1,283 @@
+package com.example.social.moderation;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Immutable Aho-Corasick automaton over a dictionary of banned terms. One pass
+ * over the text finds any term regardless of dictionary size.
+ *
+ * Terms and text are compared after the same normalization: NFKD with
+ * combining marks dropped (so accents are ignored), lower-cased, and every run
+ * of non-alphanumeric characters collapsed to a single separator. Matches
+ * must sit on word boundaries, so "hate" does not match "whatever", while a
+ * multi-word term like "buy followers" matches "Buy   followers!".
+ *
+ * Matching allocates nothing for text that is already NFKD (including all
+ * ASCII text); other text is normalized into one temporary string.
+ */
+public final class TermMatcher {
+
+    // Terms longer than this (after normalization) are rejected: the word
+    // boundary before a match is looked up in a 64-bit history of positions
+    public static final int MAX_TERM_LENGTH = 63;
+
+    private static final int SEPARATOR = ' ';
+    private static final int ROOT = 0;
+
+    private static final TermMatcher EMPTY = compile(List.of());
+
+    // Goto edges in CSR layout: node n's edges are [edgeStart[n], edgeStart[n + 1]),
+    // sorted by code point
+    private final int[] edgeStart;
+    private final int[] edgeChar;
+    private final int[] edgeTarget;
+    // Dense goto for ASCII at the root, where most lookups start over
+    private final int[] rootAscii;
+    private final int[] fail;
+    // Lengths of every term ending at a node, including via its fail chain
+    private final int[] outputStart;
+    private final int[] outputLength;
+    private final int size;
+
+    private TermMatcher(int[] edgeStart, int[] edgeChar, int[] edgeTarget, int[] rootAscii, int[] fail,
+            int[] outputStart, int[] outputLength, int size) {
+        this.edgeStart = edgeStart;
+        this.edgeChar = edgeChar;
+        this.edgeTarget = edgeTarget;
+        this.rootAscii = rootAscii;
+        this.fail = fail;
+        this.outputStart = outputStart;
+        this.outputLength = outputLength;
+        this.size = size;
+    }
+
+    public static TermMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the automaton. Blank terms and duplicates after normalization are
+     * ignored.
+     *
+     * @throws IllegalArgumentException for a term longer than {@link #MAX_TERM_LENGTH}
+     */
+    public static TermMatcher compile(Collection<String> terms) {
+        // Trie with per-node maps while building; flattened below
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<Integer> terminalLength = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminalLength.add(0);
+
+        Set<String> distinct = new HashSet<>();
+        for (String term : terms) {
+            String normalized = normalizeTerm(term);
+            if (normalized.isEmpty() || !distinct.add(normalized)) {
+                continue;
+            }
+            int length = normalized.codePointCount(0, normalized.length());
+            if (length > MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException("Term is longer than " + MAX_TERM_LENGTH + " characters: " + term);
+            }
+            int node = ROOT;
+            for (int i = 0; i < normalized.length();) {
+                int cp = normalized.codePointAt(i);
+                i += Character.charCount(cp);
+                Integer next = children.get(node).get(cp);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminalLength.add(0);
+                    children.get(node).put(cp, next);
+                }
+                node = next;
+            }
+            terminalLength.set(node, length);
+        }
+
+        int nodes = children.size();
+        int[] edgeStart = new int[nodes + 1];
+        for (int n = 0; n < nodes; n++) {
+            edgeStart[n + 1] = edgeStart[n] + children.get(n).size();
+        }
+        int[] edgeChar = new int[edgeStart[nodes]];
+        int[] edgeTarget = new int[edgeStart[nodes]];
+        for (int n = 0; n < nodes; n++) {
+            int e = edgeStart[n];
+            for (Map.Entry<Integer, Integer> edge : new TreeMap<>(children.get(n)).entrySet()) {
+                edgeChar[e] = edge.getKey();
+                edgeTarget[e] = edge.getValue();
+                e++;
+            }
+        }
+        int[] rootAscii = new int[128];
+        Arrays.fill(rootAscii, ROOT);
+        for (Map.Entry<Integer, Integer> edge : children.get(ROOT).entrySet()) {
+            if (edge.getKey() < 128) {
+                rootAscii[edge.getKey()] = edge.getValue();
+            }
+        }
+
+        // Breadth-first so every fail target is finished before it is used
+        int[] fail = new int[nodes];
+        List<List<Integer>> outputs = new ArrayList<>(nodes);
+        for (int n = 0; n < nodes; n++) {
+            outputs.add(terminalLength.get(n) > 0 ? new ArrayList<>(List.of(terminalLength.get(n))) : new ArrayList<>());
+        }
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : children.get(ROOT).values()) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Integer, Integer> edge : children.get(node).entrySet()) {
+                int child = edge.getValue();
+                int f = fail[node];
+                Integer target;
+                while ((target = children.get(f).get(edge.getKey())) == null && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = target != null && target != child ? target : ROOT;
+                outputs.get(child).addAll(outputs.get(fail[child]));
+                queue.add(child);
+            }
+        }
+
+        int[] outputStart = new int[nodes + 1];
+        for (int n = 0; n < nodes; n++) {
+            outputStart[n + 1] = outputStart[n] + outputs.get(n).size();
+        }
+        int[] outputLength = new int[outputStart[nodes]];
+        for (int n = 0; n < nodes; n++) {
+            int o = outputStart[n];
+            for (int length : outputs.get(n)) {
+                outputLength[o++] = length;
+            }
+        }
+
+        return new TermMatcher(edgeStart, edgeChar, edgeTarget, rootAscii, fail, outputStart, outputLength,
+                distinct.size());
+    }
+
+    /**
+     * Number of distinct terms in the dictionary.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true when any term occurs in {@code text} as whole words
+     */
+    public boolean matches(String text) {
+        if (text == null || text.isEmpty() || size == 0) {
+            return false;
+        }
+        if (!Normalizer.isNormalized(text, Normalizer.Form.NFKD)) {
+            text = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        }
+
+        int state = ROOT;
+        // Bit k is set when the position k steps back was a separator; positions
+        // before the text count as separators
+        long separators = -1L;
+        boolean previousWasSeparator = true;
+
+        for (int i = 0; i < text.length();) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (Character.isLetterOrDigit(cp)) {
+                cp = Character.toLowerCase(cp);
+                previousWasSeparator = false;
+            } else if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+                continue;
+            } else {
+                if (previousWasSeparator) {
+                    continue;
+                }
+                // The word just ended, so terms ending here end on a boundary
+                if (hasMatchAtBoundary(state, separators)) {
+                    return true;
+                }
+                cp = SEPARATOR;
+                previousWasSeparator = true;
+            }
+
+            state = next(state, cp);
+            separators = (separators << 1) | (cp == SEPARATOR ? 1L : 0L);
+        }
+        return hasMatchAtBoundary(state, separators);
+    }
+
+    private boolean hasMatchAtBoundary(int state, long separators) {
+        for (int o = outputStart[state]; o < outputStart[state + 1]; o++) {
+            // The character before a match of length L is L positions back
+            if ((separators & (1L << outputLength[o])) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int next(int state, int cp) {
+        while (true) {
+            if (state == ROOT) {
+                return cp < 128 ? rootAscii[cp] : edge(ROOT, cp);
+            }
+            int target = edge(state, cp);
+            if (target != ROOT) {
+                return target;
+            }
+            state = fail[state];
+        }
+    }
+
+    // Returns ROOT when the node has no edge for cp (no edge ever points back to the root)
+    private int edge(int node, int cp) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = edgeChar[mid];
+            if (c < cp) {
+                low = mid + 1;
+            } else if (c > cp) {
+                high = mid - 1;
+            } else {
+                return edgeTarget[mid];
+            }
+        }
+        return ROOT;
+    }
+
+    /**
+     * Applies the matching normalization to a dictionary term, for storage and
+     * duplicate checks.
+     */
+    public static String normalizeTerm(String term) {
+        if (term == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(term, Normalizer.Form.NFKD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean previousWasSeparator = true;
+        for (int i = 0; i < decomposed.length();) {
+            int cp = decomposed.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                normalized.appendCodePoint(Character.toLowerCase(cp));
+                previousWasSeparator = false;
+            } else if (Character.getType(cp) != Character.NON_SPACING_MARK && !previousWasSeparator) {
+                normalized.append((char) SEPARATOR);
+                previousWasSeparator = true;
+            }
+        }
+        int end = normalized.length();
+        if (end > 0 && normalized.charAt(end - 1) == SEPARATOR) {
+            normalized.setLength(end - 1);
+        }
+        return normalized.toString();
+    }
+}
@@ -27,6 +27,10 @@ public class Notification {
 
     private String actorUsername;
 
+    // Number of distinct actors folded into this row by NotificationBatchWriter
+    @Column(name = "actor_count", nullable = false, updatable = false)
+    private int actorCount = 1;
+
     private boolean isRead = false;
 
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -94,6 +98,10 @@ public class Notification {
         this.actorUsername = actorUsername;
     }
 
+    public int getActorCount() {
+        return actorCount;
+    }
+
     public boolean isRead() {
         return isRead;
     }
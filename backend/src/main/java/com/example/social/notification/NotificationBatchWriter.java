@@ -0,0 +1,247 @@
+package com.example.social.notification;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Writes a batch of pending notifications in one transaction. Events with the
+ * same recipient, type, target and action ("... liked your post") are folded
+ * into one row, first within the batch and then into a recent unread row, so a
+ * burst of likes becomes "alice and 41 others liked your post". The actors of
+ * a folded row are kept in notification_actors, so a user who acts twice is
+ * counted once.
+ *
+ * Plain JDBC is used because IDENTITY ids stop Hibernate from batching inserts.
+ */
+@Component
+public class NotificationBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (user_id, message, type, reference_id, actor_username, actor_count, is_read, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, false, ?)
+            """;
+
+    // Most recent unread row to fold into. SKIP LOCKED lets a concurrent merge
+    // on another node insert a new row instead of waiting. Rows written before
+    // actors were tracked have none recorded and are left alone, since their
+    // actor_count cannot be reconciled with a distinct count.
+    private static final String CLAIM_SQL = """
+            SELECT n.id FROM notifications n
+            WHERE n.user_id = ? AND n.type = ? AND n.reference_id = ?
+              AND n.is_read = false AND n.created_at > ?
+              AND right(n.message, char_length(CAST(? AS TEXT))) = ?
+              AND EXISTS (SELECT 1 FROM notification_actors a WHERE a.notification_id = n.id)
+            ORDER BY n.id DESC
+            LIMIT 1
+            FOR UPDATE OF n SKIP LOCKED
+            """;
+
+    private static final String ADD_ACTOR_SQL = """
+            INSERT INTO notification_actors (notification_id, actor_username)
+            VALUES (?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String COUNT_ACTORS_SQL = "SELECT count(*) FROM notification_actors WHERE notification_id = ?";
+
+    private static final String UPDATE_SQL = """
+            UPDATE notifications
+            SET actor_count = ?, actor_username = ?, created_at = ?, message = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationProperties properties;
+
+    public NotificationBatchWriter(JdbcTemplate jdbcTemplate, NotificationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Always runs in its own transaction. On overflow the caller is an
+     * afterCommit hook whose transaction has already finished, and joining
+     * that would leave the rows uncommitted.
+     *
+     * @return one delivery per written or updated row, to be pushed once the
+     *         transaction has committed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Delivery> write(List<PendingNotification> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minus(properties.getCoalesceWindow());
+
+        List<Delivery> deliveries = new ArrayList<>();
+        List<Group> inserts = new ArrayList<>();
+        for (Group group : coalesce(batch)) {
+            Delivery merged = group.action != null ? merge(group, now, since) : null;
+            if (merged != null) {
+                deliveries.add(merged);
+            } else {
+                inserts.add(group);
+            }
+        }
+        deliveries.addAll(insert(inserts, now));
+        return deliveries;
+    }
+
+    private List<Group> coalesce(List<PendingNotification> batch) {
+        Map<List<Object>, Group> groups = new LinkedHashMap<>();
+        for (PendingNotification pending : batch) {
+            String action = actionOf(pending);
+            if (action == null) {
+                groups.put(List.of(new Object()), new Group(pending, null));
+                continue;
+            }
+            List<Object> key = Arrays.asList(pending.userId(), pending.type(), pending.referenceId(), action);
+            Group group = groups.get(key);
+            if (group == null) {
+                groups.put(key, new Group(pending, action));
+            } else {
+                group.add(pending);
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    // The text after the actor's name, e.g. " liked your post", or null when the
+    // event should not be folded with others
+    private String actionOf(PendingNotification pending) {
+        if (!properties.getCoalesceTypes().contains(pending.type())
+                || pending.referenceId() == null
+                || pending.actorUsername() == null
+                || !pending.message().startsWith(pending.actorUsername())) {
+            return null;
+        }
+        return pending.message().substring(pending.actorUsername().length());
+    }
+
+    private Delivery merge(Group group, LocalDateTime now, LocalDateTime since) {
+        List<Long> claimed = jdbcTemplate.queryForList(
+                CLAIM_SQL,
+                Long.class,
+                group.first.userId(),
+                group.first.type().name(),
+                group.first.referenceId(),
+                Timestamp.valueOf(since),
+                group.action,
+                group.action);
+        if (claimed.isEmpty()) {
+            return null;
+        }
+        Long id = claimed.get(0);
+        addActors(group.actors.stream().map(actor -> new Object[] { id, actor }).toList());
+
+        Integer actors = jdbcTemplate.queryForObject(COUNT_ACTORS_SQL, Integer.class, id);
+        String message = coalescedMessage(group.latestActor, actors == null ? 1 : actors, group.action);
+        jdbcTemplate.update(UPDATE_SQL, actors, group.latestActor, Timestamp.valueOf(now), message, id);
+        return group.delivery(id, message);
+    }
+
+    private void addActors(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_ACTOR_SQL, rows);
+        }
+    }
+
+    private List<Delivery> insert(List<Group> groups, LocalDateTime now) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Group group = groups.get(i);
+                        ps.setLong(1, group.first.userId());
+                        ps.setString(2, group.message());
+                        ps.setString(3, group.first.type().name());
+                        ps.setObject(4, group.first.referenceId());
+                        ps.setString(5, group.latestActor);
+                        ps.setInt(6, Math.max(1, group.actors.size()));
+                        ps.setTimestamp(7, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return groups.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> ids = keys.getKeyList();
+        List<Delivery> deliveries = new ArrayList<>(groups.size());
+        List<Object[]> actors = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            Group group = groups.get(i);
+            Long id = ((Number) ids.get(i).get("id")).longValue();
+            deliveries.add(group.delivery(id, group.message()));
+            if (group.action != null) {
+                group.actors.forEach(actor -> actors.add(new Object[] { id, actor }));
+            }
+        }
+        addActors(actors);
+        return deliveries;
+    }
+
+    private static String coalescedMessage(String actor, int actors, String action) {
+        if (actors <= 1) {
+            return actor + action;
+        }
+        int others = actors - 1;
+        return actor + " and " + others + (others == 1 ? " other" : " others") + action;
+    }
+
+    public record Delivery(String username, NotificationDto payload) {
+    }
+
+    private static final class Group {
+        private final PendingNotification first;
+        private final String action;
+        // Distinct within the batch; across batches notification_actors dedupes
+        private final Set<String> actors = new LinkedHashSet<>();
+        private String latestActor;
+
+        Group(PendingNotification first, String action) {
+            this.first = first;
+            this.action = action;
+            add(first);
+        }
+
+        void add(PendingNotification pending) {
+            if (pending.actorUsername() != null) {
+                actors.add(pending.actorUsername());
+            }
+            latestActor = pending.actorUsername();
+        }
+
+        String message() {
+            return action != null ? coalescedMessage(latestActor, actors.size(), action) : first.message();
+        }
+
+        Delivery delivery(Long id, String message) {
+            return new Delivery(first.username(), new NotificationDto(
+                    id,
+                    message,
+                    first.type(),
+                    first.referenceId(),
+                    latestActor,
+                    false,
+                    System.currentTimeMillis()));
+        }
+    }
+}
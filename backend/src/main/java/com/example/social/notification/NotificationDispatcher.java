@@ -0,0 +1,120 @@
+package com.example.social.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue between request threads and {@link NotificationBatchWriter}.
+ * A single writer thread drains it in batches and pushes each written row over
+ * WebSocket once its batch has committed.
+ *
+ * When the queue is full the calling thread writes its own notification, so a
+ * burst slows producers down instead of growing memory or dropping events.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private final BlockingQueue<PendingNotification> queue;
+    private final NotificationBatchWriter writer;
+    private final NotificationPublisher publisher;
+    private final NotificationProperties properties;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final Counter enqueued;
+    private final Counter overflow;
+    private final Counter coalesced;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    public NotificationDispatcher(
+            NotificationBatchWriter writer,
+            NotificationPublisher publisher,
+            NotificationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.writer = writer;
+        this.publisher = publisher;
+        this.properties = properties;
+
+        meterRegistry.gauge("notifications.queue.depth", queue, BlockingQueue::size);
+        meterRegistry.gauge("notifications.queue.remaining", queue, BlockingQueue::remainingCapacity);
+        this.enqueued = meterRegistry.counter("notifications.enqueued");
+        this.overflow = meterRegistry.counter("notifications.overflow");
+        this.coalesced = meterRegistry.counter("notifications.coalesced");
+        this.failed = meterRegistry.counter("notifications.failed");
+        this.flushTimer = meterRegistry.timer("notifications.flush");
+
+        this.worker = new Thread(this::run, "notification-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void submit(PendingNotification pending) {
+        if (running && queue.offer(pending)) {
+            enqueued.increment();
+            return;
+        }
+        overflow.increment();
+        flush(List.of(pending));
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long waitMillis = properties.getFlushInterval().toMillis();
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingNotification first = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Shutdown: the loop condition drains whatever is left
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingNotification> batch) {
+        List<NotificationBatchWriter.Delivery> deliveries;
+        try {
+            deliveries = flushTimer.record(() -> writer.write(batch));
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            System.err.println("Could not write " + batch.size() + " notifications: " + e.getMessage());
+            return;
+        }
+
+        coalesced.increment(batch.size() - deliveries.size());
+        for (NotificationBatchWriter.Delivery delivery : deliveries) {
+            try {
+                publisher.sendToUser(delivery.username(), delivery.payload());
+            } catch (RuntimeException e) {
+                System.err.println("Could not push notification to " + delivery.username() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.social.notification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.notifications")
+public class NotificationProperties {
+
+    // Pending notifications held in memory; when full, the producing request
+    // thread writes its own notification instead of queueing it
+    private int queueCapacity = 10000;
+
+    // Maximum notifications written per transaction
+    private int batchSize = 500;
+
+    // How long the writer waits for more notifications before flushing a
+    // partial batch
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    // Unread notifications younger than this absorb new events with the same
+    // recipient, type, target and action
+    private Duration coalesceWindow = Duration.ofHours(1);
+
+    private Set<NotificationType> coalesceTypes = EnumSet.of(NotificationType.LIKE, NotificationType.COMMENT);
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    public Set<NotificationType> getCoalesceTypes() {
+        return coalesceTypes;
+    }
+
+    public void setCoalesceTypes(Set<NotificationType> coalesceTypes) {
+        this.coalesceTypes = coalesceTypes;
+    }
+}
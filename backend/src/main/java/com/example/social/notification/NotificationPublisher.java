@@ -1,22 +1,22 @@
 package com.example.social.notification;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.example.social.websocket.UserMessagingGateway;
 import org.springframework.stereotype.Component;
 
 @Component
 public class NotificationPublisher {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final UserMessagingGateway messagingGateway;
 
-    public NotificationPublisher(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public NotificationPublisher(UserMessagingGateway messagingGateway) {
+        this.messagingGateway = messagingGateway;
     }
 
     public void sendToUser(String username, NotificationDto payload) {
         // Send to /user/{username}/queue/notifications
         // This requires setApplicationDestinationPrefixes / userDestinationPrefix
         // config
-        messagingTemplate.convertAndSendToUser(
+        messagingGateway.sendToUser(
                 username,
                 "/queue/notifications",
                 payload);
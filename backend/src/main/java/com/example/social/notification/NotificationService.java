@@ -4,6 +4,8 @@ import com.example.social.user.User;
 import com.example.social.user.UserRepository;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -12,40 +14,57 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final NotificationPublisher publisher;
+    private final NotificationDispatcher dispatcher;
 
     public NotificationService(
             NotificationRepository notificationRepository,
             UserRepository userRepository,
-            NotificationPublisher publisher) {
+            NotificationDispatcher dispatcher) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
-        this.publisher = publisher;
+        this.dispatcher = dispatcher;
     }
 
+    /**
+     * Queues a notification for {@code user}. It is written and pushed after the
+     * caller's transaction commits, so a rolled-back action never notifies and
+     * the caller does not wait on the insert or the WebSocket push.
+     */
     public void create(User user, NotificationType type, Long referenceId, String actorUsername, String message) {
+        PendingNotification pending = new PendingNotification(
+                user.getId(),
+                user.getUsername(),
+                type,
+                referenceId,
+                actorUsername,
+                message);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.submit(pending);
+                }
+            });
+        } else {
+            dispatcher.submit(pending);
+        }
+    }
 
-        // 1. Save to DB
-        Notification notification = Notification.builder()
-                .user(user)
-                .type(type)
-                .referenceId(referenceId)
-                .actorUsername(actorUsername)
-                .message(message)
-                .build();
-
-        Notification saved = notificationRepository.save(notification);
-
-        // 2. Broadcast to specific user (Real-time)
-        NotificationDto payload = new NotificationDto(
-                saved.getId(),
-                saved.getMessage(),
-                saved.getType(),
-                saved.getReferenceId(),
-                saved.getActorUsername(),
-                false,
-                System.currentTimeMillis());
-        publisher.sendToUser(user.getUsername(), payload);
+    /**
+     * Sends a MENTION notification to every existing user in {@code usernames}
+     * except the author, resolving them with a single query.
+     */
+    public void notifyMentions(java.util.Collection<String> usernames, User author, Long referenceId, String message) {
+        List<String> others = usernames.stream()
+                .filter(username -> !username.equals(author.getUsername()))
+                .toList();
+        if (others.isEmpty()) {
+            return;
+        }
+        for (User mentioned : userRepository.findByUsernameIn(others)) {
+            create(mentioned, NotificationType.MENTION, referenceId, author.getUsername(), message);
+        }
     }
 
     public List<Notification> getMyNotifications(String username) {
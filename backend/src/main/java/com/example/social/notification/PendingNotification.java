@@ -0,0 +1,14 @@
+package com.example.social.notification;
+
+/**
+ * A notification accepted by {@link NotificationService} but not yet written.
+ * Holds plain values only, so it can outlive the transaction that created it.
+ */
+record PendingNotification(
+        Long userId,
+        String username,
+        NotificationType type,
+        Long referenceId,
+        String actorUsername,
+        String message) {
+}
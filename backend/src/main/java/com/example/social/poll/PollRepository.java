@@ -1,8 +1,21 @@
 package com.example.social.poll;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PollRepository extends JpaRepository<Poll, Long> {
+
+    @Query("SELECT DISTINCT p FROM Poll p LEFT JOIN FETCH p.options WHERE p.post.id IN :postIds")
+    List<Poll> findWithOptionsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // Post has no poll association, so deleting a post deletes its poll here
+    void deleteByPost(com.example.social.post.Post post);
+
+    void deleteByPostGroup(com.example.social.group.Group group);
 }
@@ -2,8 +2,12 @@ package com.example.social.poll;
 
 import com.example.social.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,8 @@ public interface PollVoteRepository extends JpaRepository<PollVote, Long> {
     boolean existsByUserAndPoll(User user, Poll poll);
 
     Optional<PollVote> findByUserAndPoll(User user, Poll poll);
+
+    // [pollId, optionId] rows for the polls the user voted on
+    @Query("SELECT v.poll.id, v.pollOption.id FROM PollVote v WHERE v.user.id = :userId AND v.poll.id IN :pollIds")
+    List<Object[]> findVotedOptionIds(@Param("userId") Long userId, @Param("pollIds") Collection<Long> pollIds);
 }
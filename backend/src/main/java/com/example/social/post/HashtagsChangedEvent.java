@@ -0,0 +1,12 @@
+package com.example.social.post;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Published when a post gains or loses hashtags: on creation (all added), edit
+ * and deletion (all removed). {@code postCreatedAt} places the change in the
+ * trending window, since trends count posts by creation time.
+ */
+public record HashtagsChangedEvent(Set<String> added, Set<String> removed, LocalDateTime postCreatedAt) {
+}
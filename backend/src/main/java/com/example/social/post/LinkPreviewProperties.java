@@ -0,0 +1,75 @@
+package com.example.social.post;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.link-preview")
+public class LinkPreviewProperties {
+
+    private Duration fetchTimeout = Duration.ofSeconds(5);
+
+    // Concurrent outbound fetches; further fetches wait in the queue
+    private int maxConcurrency = 4;
+
+    // Fetches waiting for a worker; beyond this new links get no preview
+    private int queueCapacity = 100;
+
+    private long cacheSize = 10000;
+
+    // How long a fetched preview is reused for the same URL
+    private Duration ttl = Duration.ofHours(6);
+
+    // How long a failed fetch is remembered before the URL is tried again
+    private Duration negativeTtl = Duration.ofMinutes(10);
+
+    public Duration getFetchTimeout() {
+        return fetchTimeout;
+    }
+
+    public void setFetchTimeout(Duration fetchTimeout) {
+        this.fetchTimeout = fetchTimeout;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+}
@@ -1,51 +1,161 @@
 package com.example.social.post;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import com.example.social.common.ContentTokenizer;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Resolves link previews off the request thread. Results are cached per URL:
+ * successful previews for {@code ttl}, failures (empty) for the shorter
+ * {@code negativeTtl}. Concurrent requests for the same URL share one fetch,
+ * and fetches run on a small bounded pool so slow sites cannot pile up threads.
+ */
 @Service
 public class LinkPreviewService {
 
-    // Regex to match http://, https://, or www.
-    private static final Pattern URL_PATTERN = Pattern.compile("((https?://|www\\.)\\S+)");
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
 
+    private final LinkPreviewProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final AsyncCache<String, Optional<LinkMetadata>> cache;
+
+    public LinkPreviewService() {
+        this(new LinkPreviewProperties());
+    }
+
+    @Autowired
+    public LinkPreviewService(LinkPreviewProperties properties) {
+        this.properties = properties;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getMaxConcurrency(),
+                properties.getMaxConcurrency(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "link-preview-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfter(new Expiry<String, Optional<LinkMetadata>>() {
+                    @Override
+                    public long expireAfterCreate(String url, Optional<LinkMetadata> value, long currentTime) {
+                        return (value.isPresent() ? properties.getTtl() : properties.getNegativeTtl()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String url, Optional<LinkMetadata> value, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(url, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String url, Optional<LinkMetadata> value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+    }
+
+    /**
+     * Blocking convenience for callers that need the preview immediately.
+     */
     public LinkMetadata extractLinkMetadata(String content) {
-        Matcher matcher = URL_PATTERN.matcher(content);
-        if (matcher.find()) {
-            String url = matcher.group(1);
-            if (!url.startsWith("http")) {
-                url = "https://" + url;
-            }
+        String url = findUrl(content);
+        if (url == null) {
+            return null;
+        }
+        try {
+            return resolve(url).join().orElse(null);
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The first link in {@code content}, normalized to an absolute URL, or null.
+     */
+    public String findUrl(String content) {
+        return findUrl(ContentTokenizer.tokenize(content));
+    }
+
+    /**
+     * The first link among already tokenized content, normalized to an absolute URL, or null.
+     */
+    public String findUrl(ContentTokenizer.ContentTokens tokens) {
+        return tokens.firstUrl()
+                .map(url -> url.startsWith("http") ? url : "https://" + url)
+                .orElse(null);
+    }
+
+    /**
+     * Completes with the preview, or empty when the page could not be fetched.
+     * Completes exceptionally with {@link RejectedExecutionException} when the
+     * fetch queue is full; that outcome is not cached.
+     */
+    public CompletableFuture<Optional<LinkMetadata>> resolve(String url) {
+        return cache.get(url, (key, cacheExecutor) -> {
             try {
-                Document doc = Jsoup.connect(url)
-                        .userAgent(
-                                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                        .timeout(5000)
-                        .get();
+                return CompletableFuture.supplyAsync(() -> fetch(key), executor);
+            } catch (RejectedExecutionException e) {
+                System.err.println("Link preview queue full, skipping: " + key);
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
 
-                String title = getMetaTag(doc, "og:title");
-                if (title == null)
-                    title = doc.title();
+    /**
+     * A cached preview for {@code url} if one has already been fetched, without
+     * starting a fetch.
+     */
+    public Optional<LinkMetadata> getIfCached(String url) {
+        CompletableFuture<Optional<LinkMetadata>> cached = cache.getIfPresent(url);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return cached.join();
+    }
 
-                String description = getMetaTag(doc, "og:description");
-                if (description == null)
-                    description = getMetaTag(doc, "description");
+    private Optional<LinkMetadata> fetch(String url) {
+        try {
+            Document doc = Jsoup.connect(url)
+                    .userAgent(USER_AGENT)
+                    .timeout((int) properties.getFetchTimeout().toMillis())
+                    .get();
 
-                String image = getMetaTag(doc, "og:image");
+            String title = getMetaTag(doc, "og:title");
+            if (title == null)
+                title = doc.title();
 
-                return new LinkMetadata(url, title, description, image);
+            String description = getMetaTag(doc, "og:description");
+            if (description == null)
+                description = getMetaTag(doc, "description");
 
-            } catch (IOException e) {
-                // Ignore errors, just return null or the url itself
-                System.err.println("Failed to fetch link preview for: " + url + " - " + e.getMessage());
-            }
+            String image = getMetaTag(doc, "og:image");
+
+            return Optional.of(new LinkMetadata(url, title, description, image));
+
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to fetch link preview for: " + url + " - " + e.getMessage());
+            return Optional.empty();
         }
-        return null;
     }
 
     private String getMetaTag(Document doc, String property) {
@@ -57,6 +167,11 @@ public class LinkPreviewService {
         return element != null ? element.attr("content") : null;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
     public record LinkMetadata(String url, String title, String description, String image) {
     }
 }
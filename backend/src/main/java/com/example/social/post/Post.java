@@ -50,9 +50,6 @@ public class Post {
     @JoinColumn(name = "group_id")
     private com.example.social.group.Group group;
 
-    @OneToOne(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
-    private com.example.social.poll.Poll poll;
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shared_post_id")
     private Post sharedPost;
@@ -64,6 +61,17 @@ public class Post {
 
     private LocalDateTime createdAt;
 
+    // Denormalized counters. Only changed through PostRepository increments and
+    // PostCounterReconciler, never by saving the entity.
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private long likeCount = 0;
+
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount = 0;
+
+    @Column(name = "share_count", nullable = false, updatable = false)
+    private long shareCount = 0;
+
     @PrePersist
     void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -76,7 +84,7 @@ public class Post {
             List<com.example.social.comment.Comment> comments, List<com.example.social.like.PostLike> likes,
             List<SavedPost> savedBy, User author, com.example.social.group.Group group, LocalDateTime createdAt,
             String linkUrl, String linkTitle, String linkDescription, String linkImage,
-            com.example.social.poll.Poll poll, Post sharedPost, String videoUrl, Set<String> hashtags) {
+            Post sharedPost, String videoUrl, Set<String> hashtags) {
         this.id = id;
         this.content = content;
         this.imageUrl = imageUrl;
@@ -92,7 +100,6 @@ public class Post {
         this.linkTitle = linkTitle;
         this.linkDescription = linkDescription;
         this.linkImage = linkImage;
-        this.poll = poll;
         this.sharedPost = sharedPost;
         this.hashtags = hashtags != null ? hashtags : new HashSet<>();
     }
@@ -221,14 +228,6 @@ public class Post {
         this.linkImage = linkImage;
     }
 
-    public com.example.social.poll.Poll getPoll() {
-        return poll;
-    }
-
-    public void setPoll(com.example.social.poll.Poll poll) {
-        this.poll = poll;
-    }
-
     // Builder
     public static PostBuilder builder() {
         return new PostBuilder();
@@ -250,7 +249,6 @@ public class Post {
         private String linkTitle;
         private String linkDescription;
         private String linkImage;
-        private com.example.social.poll.Poll poll;
         private String videoUrl;
         private Set<String> hashtags = new HashSet<>();
 
@@ -324,11 +322,6 @@ public class Post {
             return this;
         }
 
-        public PostBuilder poll(com.example.social.poll.Poll poll) {
-            this.poll = poll;
-            return this;
-        }
-
         public PostBuilder videoUrl(String videoUrl) {
             this.videoUrl = videoUrl;
             return this;
@@ -341,7 +334,7 @@ public class Post {
 
         public Post build() {
             return new Post(id, content, imageUrl, images, comments, likes, savedBy, author, group, createdAt, linkUrl,
-                    linkTitle, linkDescription, linkImage, poll, sharedPost, videoUrl, hashtags);
+                    linkTitle, linkDescription, linkImage, sharedPost, videoUrl, hashtags);
         }
 
         public PostBuilder sharedPost(Post sharedPost) {
@@ -364,6 +357,18 @@ public class Post {
         return videoUrl;
     }
 
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public long getShareCount() {
+        return shareCount;
+    }
+
     public void setVideoUrl(String videoUrl) {
         this.videoUrl = videoUrl;
     }
@@ -1,5 +1,6 @@
 package com.example.social.post;
 
+import com.example.social.common.CursorPage;
 import com.example.social.post.dto.PostResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -56,6 +57,31 @@ public class PostController {
         return postService.getFeed(page, size);
     }
 
+    @GetMapping("/feed/cursor")
+    @Operation(summary = "Get global feed by cursor", description = "Keyset-paginated global feed; pass the returned nextCursor to get the next page")
+    public CursorPage<PostResponse> getFeedByCursor(
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        return postService.getFeed(cursor, size);
+    }
+
+    @GetMapping("/feed/personal/cursor")
+    public CursorPage<PostResponse> getPersonalFeedByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        return postService.getPersonalFeed(authentication.getName(), cursor, size);
+    }
+
+    @GetMapping("/trending/cursor")
+    @Operation(summary = "Get trending posts by cursor", description = "Posts ranked by likes, comments and shares with time decay; pass the returned nextCursor to get the next page")
+    public CursorPage<PostResponse> getTrendingPosts(
+            @Parameter(description = "Cursor from the previous page, omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        return postService.getTrendingPosts(authentication.getName(), cursor, size);
+    }
+
     @GetMapping("/feed/personal")
     public Page<PostResponse> getPersonalFeed(
             @RequestParam(defaultValue = "0") int page,
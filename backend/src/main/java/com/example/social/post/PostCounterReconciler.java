@@ -0,0 +1,41 @@
+package com.example.social.post;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs drift in the denormalized post counters (a lost increment, a cascade
+ * delete that bypassed the service layer) by recounting the source tables in
+ * id ranges, each in its own short transaction.
+ */
+@Component
+public class PostCounterReconciler {
+
+    private final PostRepository postRepository;
+    private final int batchSize;
+
+    public PostCounterReconciler(
+            PostRepository postRepository,
+            @Value("${app.counters.reconcile-batch-size:1000}") int batchSize) {
+        this.postRepository = postRepository;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // First pass one minute after startup, then every 15 minutes
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${app.counters.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        try {
+            long maxId = postRepository.findMaxId();
+            int repaired = 0;
+            for (long from = 0; from < maxId; from += batchSize) {
+                repaired += postRepository.reconcileCounters(from, from + batchSize);
+            }
+            if (repaired > 0) {
+                System.out.println("Reconciled counters on " + repaired + " posts");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Post counter reconciliation failed: " + e.getMessage());
+        }
+    }
+}
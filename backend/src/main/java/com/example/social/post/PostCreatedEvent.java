@@ -0,0 +1,8 @@
+package com.example.social.post;
+
+/**
+ * Published inside the creating transaction; listeners that need the row to be
+ * visible should use {@code @TransactionalEventListener}.
+ */
+public record PostCreatedEvent(Long postId, Long authorId, Long groupId) {
+}
@@ -0,0 +1,209 @@
+package com.example.social.post;
+
+import com.example.social.file.ImageVariantUrls;
+import com.example.social.like.PostLikeRepository;
+import com.example.social.poll.Poll;
+import com.example.social.poll.PollOption;
+import com.example.social.poll.PollRepository;
+import com.example.social.poll.PollVoteRepository;
+import com.example.social.poll.dto.PollOptionResponse;
+import com.example.social.poll.dto.PollResponse;
+import com.example.social.post.dto.PostResponse;
+import com.example.social.user.UserRepository;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link PostResponse}s for a whole page at once. Per-post state
+ * (likedByMe, saved flags, poll state, images, shared posts) is
+ * resolved with one set-based query each instead of several queries per post.
+ *
+ * Callers must be inside a transaction so lazy associations can be resolved.
+ */
+@Component
+public class PostHydrator {
+
+    private final PostRepository postRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final SavedPostRepository savedPostRepository;
+    private final PollRepository pollRepository;
+    private final PollVoteRepository pollVoteRepository;
+    private final UserRepository userRepository;
+
+    public PostHydrator(
+            PostRepository postRepository,
+            PostLikeRepository postLikeRepository,
+            SavedPostRepository savedPostRepository,
+            PollRepository pollRepository,
+            PollVoteRepository pollVoteRepository,
+            UserRepository userRepository) {
+        this.postRepository = postRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.savedPostRepository = savedPostRepository;
+        this.pollRepository = pollRepository;
+        this.pollVoteRepository = pollVoteRepository;
+        this.userRepository = userRepository;
+    }
+
+    public PostResponse hydrate(Post post, Long viewerId) {
+        return hydrate(List.of(post), viewerId).get(0);
+    }
+
+    public Page<PostResponse> hydrate(Page<Post> posts, Long viewerId) {
+        return new PageImpl<>(hydrate(posts.getContent(), viewerId), posts.getPageable(), posts.getTotalElements());
+    }
+
+    /**
+     * @param viewerId the current user, or null for anonymous views where
+     *                 likedByMe, saved and voted state are always false/null
+     */
+    public List<PostResponse> hydrate(List<Post> posts, Long viewerId) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        // Shares always point at the original post, so one level is enough
+        Set<Long> sharedIds = posts.stream()
+                .map(Post::getSharedPost)
+                .filter(Objects::nonNull)
+                .map(Post::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Post> sharedPosts = sharedIds.isEmpty()
+                ? Map.of()
+                : postRepository.findWithAuthorByIdIn(sharedIds).stream()
+                        .collect(Collectors.toMap(Post::getId, p -> p));
+
+        List<Post> all = new ArrayList<>(posts);
+        all.addAll(sharedPosts.values());
+        PageState state = load(all, viewerId);
+
+        return posts.stream()
+                .map(post -> toResponse(
+                        post,
+                        post.getSharedPost() != null
+                                ? toResponse(sharedPosts.get(post.getSharedPost().getId()), null, state)
+                                : null,
+                        state))
+                .toList();
+    }
+
+    private PageState load(List<Post> posts, Long viewerId) {
+        Set<Long> ids = posts.stream().map(Post::getId).collect(Collectors.toSet());
+
+        // Authors: pull uninitialized proxies into the persistence context in one go
+        Set<Long> missingAuthors = posts.stream()
+                .map(Post::getAuthor)
+                .filter(author -> !Hibernate.isInitialized(author))
+                .map(com.example.social.user.User::getId)
+                .collect(Collectors.toSet());
+        if (!missingAuthors.isEmpty()) {
+            userRepository.findAllById(missingAuthors);
+        }
+
+        // Images: reuse fetched collections, batch-load the rest
+        Map<Long, List<String>> images = new HashMap<>();
+        Map<Long, List<ImageVariantUrls>> variants = new HashMap<>();
+        Set<Long> missingImages = new HashSet<>();
+        for (Post post : posts) {
+            if (Hibernate.isInitialized(post.getImages())) {
+                images.put(post.getId(), post.getImages().stream().map(PostImage::getUrl).toList());
+                variants.put(post.getId(), post.getImages().stream()
+                        .map(image -> ImageVariantUrls.of(image.getUrl(), image.getVariantWidths()))
+                        .toList());
+            } else {
+                missingImages.add(post.getId());
+            }
+        }
+        if (!missingImages.isEmpty()) {
+            for (Object[] row : postRepository.findImageUrlsByPostIdIn(missingImages)) {
+                images.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+                variants.computeIfAbsent((Long) row[0], k -> new ArrayList<>())
+                        .add(ImageVariantUrls.of((String) row[1], (String) row[2]));
+            }
+        }
+
+        Map<Long, Poll> polls = pollRepository.findWithOptionsByPostIdIn(ids).stream()
+                .collect(Collectors.toMap(poll -> poll.getPost().getId(), poll -> poll));
+
+        Set<Long> liked = Set.of();
+        Set<Long> saved = Set.of();
+        Map<Long, Long> votes = new HashMap<>();
+        if (viewerId != null) {
+            liked = new HashSet<>(postLikeRepository.findLikedPostIds(viewerId, ids));
+            saved = new HashSet<>(savedPostRepository.findSavedPostIds(viewerId, ids));
+            if (!polls.isEmpty()) {
+                Set<Long> pollIds = polls.values().stream().map(Poll::getId).collect(Collectors.toSet());
+                for (Object[] row : pollVoteRepository.findVotedOptionIds(viewerId, pollIds)) {
+                    votes.put((Long) row[0], (Long) row[1]);
+                }
+            }
+        }
+
+        return new PageState(images, variants, liked, saved, polls, votes);
+    }
+
+    private PostResponse toResponse(Post post, PostResponse sharedPost, PageState state) {
+        if (post == null) {
+            return null;
+        }
+
+        Poll poll = state.polls().get(post.getId());
+
+        return new PostResponse(
+                post.getId(),
+                post.getContent(),
+                post.getAuthor().getUsername(),
+                state.images().getOrDefault(post.getId(), List.of()),
+                post.getCreatedAt(),
+                post.getLikeCount(),
+                state.liked().contains(post.getId()),
+                state.saved().contains(post.getId()),
+                post.getAuthor().getProfileImageUrl(),
+                post.getAuthor().isVerified(),
+                post.getLinkUrl(),
+                post.getLinkTitle(),
+                post.getLinkDescription(),
+                post.getLinkImage(),
+                poll != null ? toPollResponse(poll, state.votes().get(poll.getId())) : null,
+                sharedPost,
+                post.getVideoUrl(),
+                post.getCommentCount(),
+                post.getShareCount(),
+                state.variants().getOrDefault(post.getId(), List.of()));
+    }
+
+    private PollResponse toPollResponse(Poll poll, Long userVotedOptionId) {
+        long totalVotes = poll.getOptions().stream().mapToLong(PollOption::getVoteCount).sum();
+
+        List<PollOptionResponse> optionResponses = poll.getOptions().stream()
+                .map(option -> new PollOptionResponse(
+                        option.getId(),
+                        option.getText(),
+                        option.getVoteCount(),
+                        totalVotes > 0 ? (double) option.getVoteCount() / totalVotes * 100 : 0))
+                .toList();
+
+        return new PollResponse(
+                poll.getId(),
+                poll.getQuestion(),
+                optionResponses,
+                poll.getExpiryDateTime(),
+                poll.isClosed(),
+                totalVotes,
+                userVotedOptionId);
+    }
+
+    private record PageState(
+            Map<Long, List<String>> images,
+            Map<Long, List<ImageVariantUrls>> variants,
+            Set<Long> liked,
+            Set<Long> saved,
+            Map<Long, Poll> polls,
+            Map<Long, Long> votes) {
+    }
+}
@@ -18,6 +18,10 @@ public class PostImage {
     @com.fasterxml.jackson.annotation.JsonIgnore
     private Post post;
 
+    // Widths of the generated ImageVariants, e.g. "320,720"; written by ImageDerivativeService
+    @Column(name = "variant_widths", insertable = false, updatable = false)
+    private String variantWidths;
+
     public PostImage() {
     }
 
@@ -51,6 +55,10 @@ public class PostImage {
         this.post = post;
     }
 
+    public String getVariantWidths() {
+        return variantWidths;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
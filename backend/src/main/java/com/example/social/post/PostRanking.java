@@ -0,0 +1,39 @@
+package com.example.social.post;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post's trending score, recomputed by {@link PostRankingJob}. Only posts
+ * with engagement inside the ranking window have a row.
+ */
+@Entity
+@Table(name = "post_rankings")
+public class PostRanking {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(nullable = false)
+    private LocalDateTime computedAt;
+
+    public PostRanking() {
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+}
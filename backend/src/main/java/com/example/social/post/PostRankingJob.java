@@ -0,0 +1,39 @@
+package com.example.social.post;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recomputes {@code post_rankings} for trending posts. Upsert and cleanup run
+ * in one transaction, so readers see either the previous ranking or the new
+ * one in full.
+ */
+@Component
+public class PostRankingJob {
+
+    private final PostRankingRepository postRankingRepository;
+    private final PostRankingProperties properties;
+
+    public PostRankingJob(PostRankingRepository postRankingRepository, PostRankingProperties properties) {
+        this.postRankingRepository = postRankingRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelay = 10000, fixedDelayString = "${app.post-ranking.refresh-interval-ms:300000}")
+    @Transactional
+    public void recompute() {
+        // Truncated so computed_at compares equal after a round trip
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        postRankingRepository.recompute(
+                now.minus(properties.getWindow()),
+                now,
+                properties.getLikeWeight(),
+                properties.getCommentWeight(),
+                properties.getShareWeight(),
+                properties.getGravity());
+        postRankingRepository.deleteComputedBefore(now);
+    }
+}
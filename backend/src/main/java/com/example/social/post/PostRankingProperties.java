@@ -0,0 +1,64 @@
+package com.example.social.post;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.post-ranking")
+public class PostRankingProperties {
+
+    // Only posts created within this window are ranked
+    private Duration window = Duration.ofDays(7);
+
+    private double likeWeight = 1.0;
+
+    // Comments and shares take more effort than a like, so count for more
+    private double commentWeight = 2.0;
+
+    private double shareWeight = 3.0;
+
+    // Exponent of the age penalty; higher values favour newer posts
+    private double gravity = 1.8;
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public double getLikeWeight() {
+        return likeWeight;
+    }
+
+    public void setLikeWeight(double likeWeight) {
+        this.likeWeight = likeWeight;
+    }
+
+    public double getCommentWeight() {
+        return commentWeight;
+    }
+
+    public void setCommentWeight(double commentWeight) {
+        this.commentWeight = commentWeight;
+    }
+
+    public double getShareWeight() {
+        return shareWeight;
+    }
+
+    public void setShareWeight(double shareWeight) {
+        this.shareWeight = shareWeight;
+    }
+
+    public double getGravity() {
+        return gravity;
+    }
+
+    public void setGravity(double gravity) {
+        this.gravity = gravity;
+    }
+}
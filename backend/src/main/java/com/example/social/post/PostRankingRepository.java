@@ -0,0 +1,86 @@
+package com.example.social.post;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostRankingRepository extends JpaRepository<PostRanking, Long> {
+
+    // Both reads leave out posts whose author blocked, or was blocked by, the
+    // viewer, so pages stay full
+
+    // Keyset page of the ranking strictly after the (score, postId) cursor
+    @Query("""
+                SELECT r FROM PostRanking r, Post p
+                WHERE p.id = r.postId
+                  AND (r.score < :score OR (r.score = :score AND r.postId < :postId))
+                  AND NOT EXISTS (
+                      SELECT 1 FROM Block b
+                      WHERE (b.blocker.id = :viewerId AND b.blocked.id = p.author.id)
+                         OR (b.blocker.id = p.author.id AND b.blocked.id = :viewerId))
+                ORDER BY r.score DESC, r.postId DESC
+            """)
+    List<PostRanking> findRankedBefore(
+            @Param("score") double score,
+            @Param("postId") Long postId,
+            @Param("viewerId") Long viewerId,
+            Limit limit);
+
+    @Query(value = """
+                SELECT r.postId FROM PostRanking r, Post p
+                WHERE p.id = r.postId
+                  AND NOT EXISTS (
+                      SELECT 1 FROM Block b
+                      WHERE (b.blocker.id = :viewerId AND b.blocked.id = p.author.id)
+                         OR (b.blocker.id = p.author.id AND b.blocked.id = :viewerId))
+                ORDER BY r.score DESC, r.postId DESC
+            """, countQuery = """
+                SELECT COUNT(r) FROM PostRanking r, Post p
+                WHERE p.id = r.postId
+                  AND NOT EXISTS (
+                      SELECT 1 FROM Block b
+                      WHERE (b.blocker.id = :viewerId AND b.blocked.id = p.author.id)
+                         OR (b.blocker.id = p.author.id AND b.blocked.id = :viewerId))
+            """)
+    Page<Long> findRankedIds(@Param("viewerId") Long viewerId, Pageable pageable);
+
+    // Scores every engaged post created since :since with gravity decay:
+    // weighted engagement / (age in hours + 2) ^ gravity. Uses the
+    // denormalized counters, so no joins.
+    @Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @Query(value = """
+                INSERT INTO post_rankings (post_id, score, computed_at)
+                SELECT p.id,
+                       (:likeWeight * p.like_count + :commentWeight * p.comment_count + :shareWeight * p.share_count)
+                           / POWER(GREATEST(EXTRACT(EPOCH FROM (:now - p.created_at)), 0) / 3600.0 + 2, :gravity),
+                       :now
+                FROM posts p
+                WHERE p.created_at >= :since
+                  AND p.group_id IS NULL
+                  AND p.like_count + p.comment_count + p.share_count > 0
+                ON CONFLICT (post_id) DO UPDATE
+                    SET score = EXCLUDED.score, computed_at = EXCLUDED.computed_at
+            """, nativeQuery = true)
+    int recompute(
+            @Param("since") LocalDateTime since,
+            @Param("now") LocalDateTime now,
+            @Param("likeWeight") double likeWeight,
+            @Param("commentWeight") double commentWeight,
+            @Param("shareWeight") double shareWeight,
+            @Param("gravity") double gravity);
+
+    // Rows not touched by the run that started at :now: posts that aged out of
+    // the window or lost all engagement
+    @Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @Query("DELETE FROM PostRanking r WHERE r.computedAt < :now")
+    int deleteComputedBefore(@Param("now") LocalDateTime now);
+}
@@ -8,21 +8,70 @@ import org.springframework.data.repository.query.Param;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    // Paged feeds select ids only and load the rows with findPage. Fetch-joining
+    // p.images in a paged query would make Hibernate page in memory.
+
     // Global feed (exclude group posts)
+    @Query(value = """
+                SELECT p.id FROM Post p
+                WHERE p.group IS NULL
+                ORDER BY p.createdAt DESC, p.id DESC
+            """, countQuery = "SELECT COUNT(p) FROM Post p WHERE p.group IS NULL")
+    Page<Long> findFeedIds(Pageable pageable);
+
+    // Keyset variant of findFeed: positions strictly after the (createdAt, id)
+    // cursor, so the next cursor is known even if a post is deleted meanwhile
     @Query("""
-                SELECT DISTINCT p FROM Post p
-                JOIN FETCH p.author
-                LEFT JOIN FETCH p.images
+                SELECT new com.example.social.common.Cursor(p.createdAt, p.id) FROM Post p
                 WHERE p.group IS NULL
-                ORDER BY p.createdAt DESC
+                  AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+                ORDER BY p.createdAt DESC, p.id DESC
             """)
-    Page<Post> findFeed(Pageable pageable);
+    List<com.example.social.common.Cursor> findFeedKeysBefore(
+            @Param("createdAt") java.time.LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
 
     // Personalized feed (exclude group posts)
+    @Query(value = """
+                SELECT p.id FROM Post p
+                WHERE (p.author.id = :userId
+                   OR p.author.id IN (
+                       SELECT f.following.id
+                       FROM Follow f
+                       WHERE f.follower.id = :userId
+                   ))
+                   AND p.group IS NULL
+                ORDER BY p.createdAt DESC, p.id DESC
+            """, countQuery = """
+                SELECT COUNT(p) FROM Post p
+                WHERE (p.author.id = :userId
+                   OR p.author.id IN (
+                       SELECT f.following.id
+                       FROM Follow f
+                       WHERE f.follower.id = :userId
+                   ))
+                   AND p.group IS NULL
+            """)
+    Page<Long> findPersonalFeedIdPage(@Param("userId") Long userId, Pageable pageable);
+
+    // Ids only, used to (re)build a materialized home timeline
     @Query("""
-                SELECT DISTINCT p FROM Post p
-                JOIN FETCH p.author
-                LEFT JOIN FETCH p.images
+                SELECT p.id FROM Post p
+                WHERE (p.author.id = :userId
+                   OR p.author.id IN (
+                       SELECT f.following.id
+                       FROM Follow f
+                       WHERE f.follower.id = :userId
+                   ))
+                   AND p.group IS NULL
+                ORDER BY p.id DESC
+            """)
+    List<Long> findPersonalFeedIds(@Param("userId") Long userId, Limit limit);
+
+    // Continues the home timeline past what the materialized timeline holds
+    @Query("""
+                SELECT p.id FROM Post p
                 WHERE (p.author.id = :userId
                    OR p.author.id IN (
                        SELECT f.following.id
@@ -30,9 +79,47 @@ public interface PostRepository extends JpaRepository<Post, Long> {
                        WHERE f.follower.id = :userId
                    ))
                    AND p.group IS NULL
-                ORDER BY p.createdAt DESC
+                   AND p.id < :beforeId
+                ORDER BY p.id DESC
             """)
-    Page<Post> findPersonalFeed(@Param("userId") Long userId, Pageable pageable);
+    List<Long> findPersonalFeedIdsBefore(
+            @Param("userId") Long userId,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    // Fan-out-on-read side of the home timeline
+    @Query("""
+                SELECT p.id FROM Post p
+                WHERE p.author.id IN :authorIds
+                   AND p.group IS NULL
+                   AND p.id < :beforeId
+                ORDER BY p.id DESC
+            """)
+    List<Long> findRecentIdsByAuthors(@Param("authorIds") java.util.Collection<Long> authorIds,
+            @Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("""
+                SELECT DISTINCT p FROM Post p
+                JOIN FETCH p.author
+                LEFT JOIN FETCH p.images
+                WHERE p.id IN :ids
+            """)
+    List<Post> findAllWithAuthorByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
+    @Query("""
+                SELECT p FROM Post p
+                JOIN FETCH p.author
+                WHERE p.id IN :ids
+            """)
+    List<Post> findWithAuthorByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
+    // [postId, url, variantWidths] rows in upload order
+    @Query("""
+                SELECT i.post.id, i.url, i.variantWidths FROM PostImage i
+                WHERE i.post.id IN :postIds
+                ORDER BY i.id
+            """)
+    List<Object[]> findImageUrlsByPostIdIn(@Param("postIds") java.util.Collection<Long> postIds);
 
     long countByAuthorId(Long authorId);
 
@@ -50,63 +137,131 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     List<Post> findByAuthorUsernameOrderByCreatedAtDesc(String username);
 
-    // Trending - using simple recency for now (complex aggregation causes HQL
-    // issues)
-    @Query("""
-                SELECT p FROM Post p
-                WHERE (SELECT COUNT(l) FROM PostLike l WHERE l.post = p) > 0
-                ORDER BY p.createdAt DESC
-            """)
-    Page<Post> trending(Pageable pageable);
+    // Full-text queries take tsquery text built by PostSearchQuery and use the
+    // GIN index on posts.search_vector (V120). Posts by users who blocked, or
+    // were blocked by, the viewer are excluded in the query, so pages stay full
+    // and totals are right
 
-    @Query("""
-                SELECT h, COUNT(h)
-                FROM Post p
-                JOIN p.hashtags h
-                WHERE p.createdAt >= :since
-                GROUP BY h
-                ORDER BY COUNT(h) DESC
-            """)
-    List<Object[]> findTrendingHashtags(@Param("since") java.time.LocalDateTime since, Pageable pageable);
+    // Ordered by relevance; hashtag matches (weight A) rank above plain words
+    @Query(value = """
+            SELECT p.id FROM posts p
+            WHERE p.search_vector @@ to_tsquery('simple', :query)
+              AND NOT EXISTS (
+                  SELECT 1 FROM blocks b
+                  WHERE (b.blocker_id = :viewerId AND b.blocked_id = p.author_id)
+                     OR (b.blocker_id = p.author_id AND b.blocked_id = :viewerId))
+            ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.created_at DESC, p.id DESC
+            """, countQuery = """
+            SELECT COUNT(*) FROM posts p
+            WHERE p.search_vector @@ to_tsquery('simple', :query)
+              AND NOT EXISTS (
+                  SELECT 1 FROM blocks b
+                  WHERE (b.blocker_id = :viewerId AND b.blocked_id = p.author_id)
+                     OR (b.blocker_id = p.author_id AND b.blocked_id = :viewerId))
+            """, nativeQuery = true)
+    Page<Long> searchIds(@Param("query") String query, @Param("viewerId") Long viewerId, Pageable pageable);
 
-    @Query("""
-            SELECT p FROM Post p
-            WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :tag, '%'))
-            ORDER BY p.createdAt DESC
-            """)
-    Page<Post> exploreByInterest(@Param("tag") String tag, Pageable pageable);
+    // Newest first, for explore pages
+    @Query(value = """
+            SELECT p.id FROM posts p
+            WHERE p.search_vector @@ to_tsquery('simple', :query)
+              AND NOT EXISTS (
+                  SELECT 1 FROM blocks b
+                  WHERE (b.blocker_id = :viewerId AND b.blocked_id = p.author_id)
+                     OR (b.blocker_id = p.author_id AND b.blocked_id = :viewerId))
+            ORDER BY p.created_at DESC, p.id DESC
+            """, countQuery = """
+            SELECT COUNT(*) FROM posts p
+            WHERE p.search_vector @@ to_tsquery('simple', :query)
+              AND NOT EXISTS (
+                  SELECT 1 FROM blocks b
+                  WHERE (b.blocker_id = :viewerId AND b.blocked_id = p.author_id)
+                     OR (b.blocker_id = p.author_id AND b.blocked_id = :viewerId))
+            """, nativeQuery = true)
+    Page<Long> findIdsMatching(@Param("query") String query, @Param("viewerId") Long viewerId, Pageable pageable);
 
-    @Query("""
-                SELECT DISTINCT p FROM Post p
-                WHERE (
-                    LOWER(p.content) LIKE LOWER(CONCAT('%', :tag1, '%'))
-                 OR LOWER(p.content) LIKE LOWER(CONCAT('%', :tag2, '%'))
-                 OR LOWER(p.content) LIKE LOWER(CONCAT('%', :tag3, '%'))
-                )
-                ORDER BY p.createdAt DESC
-            """)
-    Page<Post> exploreMultiTag(
-            @Param("tag1") String tag1,
-            @Param("tag2") String tag2,
-            @Param("tag3") String tag3,
-            Pageable pageable);
+    // Ordered by the pageable's sort
+    @Query(value = """
+                SELECT p.id FROM Post p
+                WHERE p.group = :group
+            """, countQuery = "SELECT COUNT(p) FROM Post p WHERE p.group = :group")
+    Page<Long> findIdsByGroup(@Param("group") com.example.social.group.Group group, Pageable pageable);
 
-    @Query("""
-            SELECT p FROM Post p
-            JOIN FETCH p.author
-            LEFT JOIN FETCH p.images
-            WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :query, '%'))
-            ORDER BY p.createdAt DESC
-            """)
-    Page<Post> searchByContent(@Param("query") String query, Pageable pageable);
+    /**
+     * Loads the posts of an id page with authors and images, keeping the page
+     * order. Posts deleted since the ids were read are skipped.
+     */
+    default List<Post> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        java.util.Map<Long, Post> byId = findAllWithAuthorByIdIn(ids).stream()
+                .collect(java.util.stream.Collectors.toMap(Post::getId, p -> p));
+        return ids.stream()
+                .map(byId::get)
+                .filter(java.util.Objects::nonNull)
+                .toList();
+    }
+
+    default Page<Post> findPage(Page<Long> ids) {
+        return new PageImpl<>(findAllInOrder(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    void deleteByGroup(com.example.social.group.Group group);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    void incrementLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
 
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    void incrementCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.shareCount = p.shareCount + :delta WHERE p.id = :postId")
+    void incrementShareCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // Called once the preview is fetched, which can be synchronously inside the
+    // creating transaction's afterCommit hook when the preview was already
+    // cached; it must not join that finished transaction
+    @Modifying
+    @org.springframework.transaction.annotation.Transactional(
+            propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
     @Query("""
-                SELECT DISTINCT p FROM Post p
-                JOIN FETCH p.author
-                LEFT JOIN FETCH p.images
-                WHERE p.group = :group
+                UPDATE Post p
+                SET p.linkUrl = :url, p.linkTitle = :title, p.linkDescription = :description, p.linkImage = :image
+                WHERE p.id = :postId
             """)
-    Page<Post> findByGroup(@Param("group") com.example.social.group.Group group, Pageable pageable);
+    void updateLinkPreview(
+            @Param("postId") Long postId,
+            @Param("url") String url,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("image") String image);
 
-    void deleteByGroup(com.example.social.group.Group group);
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :postId")
+    long findLikeCount(@Param("postId") Long postId);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    // Rewrites counters that drifted from the source tables for posts in
+    // (fromId, toId]; returns the number of repaired rows
+    @Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @Query(value = """
+                UPDATE posts p
+                SET like_count = c.likes, comment_count = c.comments, share_count = c.shares
+                FROM (
+                    SELECT p2.id,
+                           (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p2.id) AS likes,
+                           (SELECT COUNT(*) FROM comments cm WHERE cm.post_id = p2.id) AS comments,
+                           (SELECT COUNT(*) FROM posts s WHERE s.shared_post_id = p2.id) AS shares
+                    FROM posts p2
+                    WHERE p2.id > :fromId AND p2.id <= :toId
+                ) c
+                WHERE p.id = c.id
+                  AND (p.like_count <> c.likes OR p.comment_count <> c.comments OR p.share_count <> c.shares)
+            """, nativeQuery = true)
+    int reconcileCounters(@Param("fromId") long fromId, @Param("toId") long toId);
 }
@@ -0,0 +1,69 @@
+package com.example.social.post;
+
+import java.util.*;
+
+/**
+ * Turns user input into PostgreSQL tsquery text for the posts.search_vector
+ * index. Terms are reduced to letters and digits, so no input can inject
+ * tsquery operators, and each term matches as a prefix.
+ */
+public final class PostSearchQuery {
+
+    private PostSearchQuery() {
+    }
+
+    /**
+     * Every term must match. A term written as a hashtag ({@code #java}) only
+     * matches the post's hashtags rather than any word. Null when the input has
+     * no searchable terms.
+     */
+    public static String allOf(String input) {
+        if (input == null) {
+            return null;
+        }
+        StringJoiner query = new StringJoiner(" & ");
+        for (String raw : input.trim().split("\\s+")) {
+            // Weight A holds the hashtags, see V120__post_search_vector.sql
+            String suffix = raw.startsWith("#") ? ":*A" : ":*";
+            for (String word : words(raw)) {
+                query.add(word + suffix);
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * Any of the given tags or words may match. Null when none is searchable.
+     */
+    public static String anyOf(Collection<String> terms) {
+        StringJoiner query = new StringJoiner(" | ");
+        Set<String> seen = new HashSet<>();
+        for (String raw : terms) {
+            for (String word : words(raw)) {
+                if (seen.add(word)) {
+                    query.add(word + ":*");
+                }
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    private static List<String> words(String raw) {
+        List<String> words = new ArrayList<>();
+        if (raw == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= raw.length();) {
+            int cp = i < raw.length() ? raw.codePointAt(i) : ' ';
+            i += i < raw.length() ? Character.charCount(cp) : 1;
+            if (Character.isLetterOrDigit(cp)) {
+                word.appendCodePoint(Character.toLowerCase(cp));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+}
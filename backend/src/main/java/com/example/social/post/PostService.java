@@ -1,7 +1,9 @@
 package com.example.social.post;
 
-import com.example.social.follow.FollowRepository;
-import com.example.social.like.PostLikeRepository;
+import com.example.social.common.ContentTokenizer;
+import com.example.social.common.Cursor;
+import com.example.social.common.CursorPage;
+import com.example.social.common.ScoreCursor;
 import com.example.social.post.dto.*;
 import com.example.social.user.*;
 import org.springframework.data.domain.*;
@@ -14,45 +16,54 @@ public class PostService {
 
         private final PostRepository postRepository;
         private final UserRepository userRepository;
-        private final PostLikeRepository postLikeRepository;
         private final com.example.social.file.FileStorageService fileStorageService;
-        private final FollowRepository followRepository;
-        private final BlockRepository blockRepository;
+        private final com.example.social.graph.SocialGraphService socialGraph;
         private final UserInterestRepository userInterestRepository;
         private final SavedPostRepository savedPostRepository;
         private final com.example.social.group.GroupRepository groupRepository;
         private final LinkPreviewService linkPreviewService;
-        private final com.example.social.poll.PollVoteRepository pollVoteRepository;
         private final com.example.social.notification.NotificationService notificationService;
         private final com.example.social.common.ContentModerationService contentModerationService;
+        private final com.example.social.feed.TimelineService timelineService;
+        private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+        private final PostHydrator postHydrator;
+        private final UserSnapshotCache userSnapshotCache;
+        private final PostRankingRepository postRankingRepository;
+        private final com.example.social.poll.PollRepository pollRepository;
 
         public PostService(
                         PostRepository postRepository,
                         UserRepository userRepository,
-                        PostLikeRepository postLikeRepository,
                         com.example.social.file.FileStorageService fileStorageService,
-                        FollowRepository followRepository,
-                        BlockRepository blockRepository,
+                        com.example.social.graph.SocialGraphService socialGraph,
                         UserInterestRepository userInterestRepository,
                         SavedPostRepository savedPostRepository,
                         com.example.social.group.GroupRepository groupRepository,
                         LinkPreviewService linkPreviewService,
-                        com.example.social.poll.PollVoteRepository pollVoteRepository,
                         com.example.social.notification.NotificationService notificationService,
-                        com.example.social.common.ContentModerationService contentModerationService) {
+                        com.example.social.common.ContentModerationService contentModerationService,
+                        com.example.social.feed.TimelineService timelineService,
+                        org.springframework.context.ApplicationEventPublisher eventPublisher,
+                        PostHydrator postHydrator,
+                        UserSnapshotCache userSnapshotCache,
+                        PostRankingRepository postRankingRepository,
+                        com.example.social.poll.PollRepository pollRepository) {
                 this.postRepository = postRepository;
                 this.userRepository = userRepository;
-                this.postLikeRepository = postLikeRepository;
                 this.fileStorageService = fileStorageService;
-                this.followRepository = followRepository;
-                this.blockRepository = blockRepository;
+                this.socialGraph = socialGraph;
                 this.userInterestRepository = userInterestRepository;
                 this.savedPostRepository = savedPostRepository;
                 this.groupRepository = groupRepository;
                 this.linkPreviewService = linkPreviewService;
-                this.pollVoteRepository = pollVoteRepository;
                 this.notificationService = notificationService;
                 this.contentModerationService = contentModerationService;
+                this.timelineService = timelineService;
+                this.eventPublisher = eventPublisher;
+                this.postHydrator = postHydrator;
+                this.userSnapshotCache = userSnapshotCache;
+                this.postRankingRepository = postRankingRepository;
+                this.pollRepository = pollRepository;
         }
 
         @org.springframework.transaction.annotation.Transactional
@@ -63,6 +74,7 @@ public class PostService {
                         String pollQuestion, List<String> pollOptions, Integer pollDurationDays, Long sharedPostId) {
 
                 contentModerationService.validateContent(content);
+                ContentTokenizer.ContentTokens tokens = ContentTokenizer.tokenize(content);
 
                 User user = userRepository.findByUsername(username)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -83,14 +95,18 @@ public class PostService {
                         }
                 }
 
-                LinkPreviewService.LinkMetadata linkMetadata = linkPreviewService.extractLinkMetadata(content);
+                // Previews are fetched after commit; only an already cached one is used here
+                String linkUrl = linkPreviewService.findUrl(tokens);
+                LinkPreviewService.LinkMetadata linkMetadata = linkUrl != null
+                                ? linkPreviewService.getIfCached(linkUrl).orElse(null)
+                                : null;
 
                 Post.PostBuilder postBuilder = Post.builder()
                                 .content(content)
                                 .author(user)
                                 .group(group)
                                 .sharedPost(sharedPost)
-                                .hashtags(extractHashtags(content));
+                                .hashtags(new java.util.HashSet<>(tokens.hashtags()));
 
                 if (video != null && !video.isEmpty()) {
                         String videoUrl = fileStorageService.storeFile(video);
@@ -105,8 +121,9 @@ public class PostService {
                 }
 
                 // Handle Poll Creation
+                com.example.social.poll.Poll poll = null;
                 if (pollQuestion != null && !pollQuestion.isBlank() && pollOptions != null && pollOptions.size() >= 2) {
-                        com.example.social.poll.Poll poll = com.example.social.poll.Poll.builder()
+                        poll = com.example.social.poll.Poll.builder()
                                         .question(pollQuestion)
                                         .isClosed(false)
                                         .expiryDateTime(pollDurationDays != null && pollDurationDays > 0
@@ -125,17 +142,10 @@ public class PostService {
                                 }
                         }
                         poll.setOptions(options);
-                        postBuilder.poll(poll);
                 }
 
                 Post post = postBuilder.build();
 
-                // If poll exists, set the post reference (bi-directional mapping usually
-                // requires this)
-                if (post.getPoll() != null) {
-                        post.getPoll().setPost(post);
-                }
-
                 // Handle multiple images
                 if (images != null && !images.isEmpty()) {
                         for (org.springframework.web.multipart.MultipartFile file : images) {
@@ -154,91 +164,152 @@ public class PostService {
 
                 Post saved = postRepository.save(post);
 
-                processMentions(saved);
+                // Poll owns the post_id link; Post has no poll field so loading posts
+                // never selects their polls one by one
+                if (poll != null) {
+                        poll.setPost(saved);
+                        pollRepository.save(poll);
+                }
 
-                return mapToResponse(saved, user);
-        }
+                if (sharedPost != null) {
+                        postRepository.incrementShareCount(sharedPost.getId(), 1);
+                }
 
-        private void processMentions(Post post) {
-                String content = post.getContent();
-                if (content == null || content.isEmpty())
-                        return;
+                notificationService.notifyMentions(tokens.mentions(), user, saved.getId(), "mentioned you in a post");
 
-                java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("@(\\w+)");
-                java.util.regex.Matcher matcher = pattern.matcher(content);
+                if (linkUrl != null && linkMetadata == null) {
+                        attachLinkPreviewAfterCommit(saved.getId(), linkUrl);
+                }
 
-                java.util.Set<String> mentionedUsernames = new java.util.HashSet<>();
-                while (matcher.find()) {
-                        mentionedUsernames.add(matcher.group(1));
+                eventPublisher.publishEvent(new PostCreatedEvent(
+                                saved.getId(),
+                                user.getId(),
+                                group != null ? group.getId() : null));
+                if (!saved.getHashtags().isEmpty()) {
+                        eventPublisher.publishEvent(new HashtagsChangedEvent(
+                                        java.util.Set.copyOf(saved.getHashtags()), java.util.Set.of(),
+                                        saved.getCreatedAt()));
                 }
 
-                for (String username : mentionedUsernames) {
-                        if (username.equals(post.getAuthor().getUsername()))
-                                continue; // specific logic: don't notify self
-
-                        userRepository.findByUsername(username).ifPresent(targetUser -> {
-                                notificationService.create(
-                                                targetUser,
-                                                com.example.social.notification.NotificationType.MENTION,
-                                                post.getId(),
-                                                post.getAuthor().getUsername(),
-                                                "mentioned you in a post");
-                        });
+                return postHydrator.hydrate(saved, user.getId());
+        }
+
+        // Fills the link fields once the preview is fetched, so post creation never
+        // waits on the external site or holds a connection during the fetch
+        private void attachLinkPreviewAfterCommit(Long postId, String url) {
+                Runnable attach = () -> linkPreviewService.resolve(url)
+                                .thenAccept(metadata -> metadata.ifPresent(m -> postRepository.updateLinkPreview(
+                                                postId, m.url(), m.title(), m.description(), m.image())))
+                                .exceptionally(e -> {
+                                        System.err.println("Link preview not attached to post " + postId + ": "
+                                                        + e.getMessage());
+                                        return null;
+                                });
+
+                if (org.springframework.transaction.support.TransactionSynchronizationManager
+                                .isSynchronizationActive()) {
+                        org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization(
+                                        new org.springframework.transaction.support.TransactionSynchronization() {
+                                                @Override
+                                                public void afterCommit() {
+                                                        attach.run();
+                                                }
+                                        });
+                } else {
+                        attach.run();
                 }
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public Page<PostResponse> getFeed(int page, int size) {
                 Pageable pageable = PageRequest.of(page, size);
-                return postRepository.findFeed(pageable).map(this::mapToResponsePublic);
+                return postHydrator.hydrate(postRepository.findPage(postRepository.findFeedIds(pageable)), null);
         }
 
-        private PostResponse mapToResponsePublic(Post post) {
-                java.util.List<String> imageUrls = post.getImages().stream()
-                                .map(PostImage::getUrl)
-                                .toList();
-
-                return new PostResponse(
-                                post.getId(),
-                                post.getContent(),
-                                post.getAuthor().getUsername(),
-                                imageUrls,
-                                post.getCreatedAt(),
-                                postLikeRepository.countByPost(post),
-                                false,
-                                false,
-                                post.getAuthor().getProfileImageUrl(),
-                                post.getAuthor().isVerified(),
-                                post.getLinkUrl(),
-                                post.getLinkTitle(),
-                                post.getLinkDescription(),
-                                post.getLinkImage(),
-                                mapToPollResponse(post.getPoll(), null),
-                                post.getSharedPost() != null ? mapToResponsePublic(post.getSharedPost()) : null,
-                                post.getVideoUrl());
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public CursorPage<PostResponse> getFeed(String cursor, int size) {
+                size = CursorPage.clampSize(size);
+                Cursor after = Cursor.decodeOr(cursor, Cursor.NEWEST);
+                // Paged on the keys read, not the posts loaded, so a post deleted in
+                // between does not end the feed early
+                List<Cursor> keys = postRepository.findFeedKeysBefore(after.createdAt(), after.id(),
+                                Limit.of(size + 1));
+                return CursorPage.of(keys, size, key -> key,
+                                page -> postHydrator.hydrate(
+                                                postRepository.findAllInOrder(page.stream().map(Cursor::id).toList()),
+                                                null));
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public PostResponse getPostById(Long postId, String username) {
-                User currentUser = userRepository.findByUsername(username)
+                UserSnapshot currentUser = userSnapshotCache.getByUsername(username)
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 Post post = postRepository.findPostByIdWithAuthor(postId)
                                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
-                return mapToResponse(post, currentUser);
+                return postHydrator.hydrate(post, currentUser.id());
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public Page<PostResponse> getPersonalFeed(String username, int page, int size) {
 
-                User currentUser = userRepository.findByUsername(username)
+                UserSnapshot currentUser = userSnapshotCache.getByUsername(username)
                                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
                 Pageable pageable = PageRequest.of(page, size);
 
-                return postRepository
-                                .findPersonalFeed(currentUser.getId(), pageable)
-                                .map(post -> mapToResponse(post, currentUser));
+                // Serve from the materialized timeline while the page lies inside it
+                int window = (page + 1) * size;
+                if (window <= timelineService.getMaxSize()) {
+                        java.util.Optional<List<Long>> timeline = timelineService.readTimeline(currentUser.id(),
+                                        null, window);
+                        if (timeline.isPresent()) {
+                                List<Long> ids = timeline.get();
+                                List<Long> pageIds = ids.subList(Math.min((int) pageable.getOffset(), ids.size()),
+                                                ids.size());
+                                // Total is only known once the timeline runs out
+                                long total = ids.size() < window ? ids.size() : window + 1L;
+
+                                return new PageImpl<>(
+                                                postHydrator.hydrate(postRepository.findAllInOrder(pageIds),
+                                                                currentUser.id()),
+                                                pageable,
+                                                total);
+                        }
+                }
+
+                return postHydrator.hydrate(
+                                postRepository.findPage(
+                                                postRepository.findPersonalFeedIdPage(currentUser.id(), pageable)),
+                                currentUser.id());
+        }
+
+        /**
+         * Home timeline by cursor. The materialized timeline is ordered by post id
+         * alone, so only the id part of the cursor is used here.
+         */
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public CursorPage<PostResponse> getPersonalFeed(String username, String cursor, int size) {
+                size = CursorPage.clampSize(size);
+                UserSnapshot currentUser = userSnapshotCache.getByUsername(username)
+                                .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
+                Cursor after = Cursor.decodeOr(cursor, Cursor.NEWEST);
+
+                List<Long> ids = new java.util.ArrayList<>(
+                                timelineService.readTimeline(currentUser.id(), after.id(), size + 1)
+                                                .orElse(List.of()));
+
+                // Past the end of the timeline (or without one): continue from the database
+                if (ids.size() <= size) {
+                        Long beforeId = ids.isEmpty() ? after.id() : ids.get(ids.size() - 1);
+                        ids.addAll(postRepository.findPersonalFeedIdsBefore(currentUser.id(), beforeId,
+                                        Limit.of(size + 1 - ids.size())));
+                }
+
+                // Paged on the ids, not the posts loaded: the timeline can still hold a
+                // deleted post, and dropping it must not end the feed early
+                return CursorPage.of(ids, size, id -> new Cursor(after.createdAt(), id),
+                                page -> postHydrator.hydrate(postRepository.findAllInOrder(page), currentUser.id()));
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -248,15 +319,14 @@ public class PostService {
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 boolean isOwner = viewer.getId().equals(target.getId());
-                boolean isFollowing = followRepository.existsByFollowerAndFollowing(viewer, target);
+                boolean isFollowing = socialGraph.isFollowing(viewer.getId(), target.getId());
 
                 if (!isOwner && target.isPrivate() && !isFollowing) {
                         throw new RuntimeException("This account is private");
                 }
 
                 Pageable pageable = PageRequest.of(page, size);
-                return postRepository.findByAuthor(target, pageable)
-                                .map(post -> mapToResponse(post, viewer));
+                return postHydrator.hydrate(postRepository.findByAuthor(target, pageable), viewer.getId());
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -267,16 +337,15 @@ public class PostService {
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
                 boolean isOwner = viewer.getId().equals(target.getId());
-                boolean isFollowing = followRepository.existsByFollowerAndFollowing(viewer, target);
+                boolean isFollowing = socialGraph.isFollowing(viewer.getId(), target.getId());
 
                 if (!isOwner && target.isPrivate() && !isFollowing) {
                         return java.util.Collections.emptyList();
                 }
 
-                return postRepository.findByAuthorUsernameOrderByCreatedAtDesc(targetUsername)
-                                .stream()
-                                .map(post -> mapToResponse(post, viewer))
-                                .toList();
+                return postHydrator.hydrate(
+                                postRepository.findByAuthorUsernameOrderByCreatedAtDesc(targetUsername),
+                                viewer.getId());
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -295,26 +364,42 @@ public class PostService {
                                 .map(UserInterest::getTag)
                                 .orElse(null);
 
+                String interestQuery = tag != null ? PostSearchQuery.anyOf(List.of(tag)) : null;
+
                 Page<Post> posts;
-                if (tag != null) {
-                        posts = postRepository.exploreByInterest(tag, pageable);
+                if (interestQuery != null) {
+                        posts = postRepository.findPage(
+                                        postRepository.findIdsMatching(interestQuery, currentUser.getId(), pageable));
                 } else {
-                        // Fallback to trending
-                        posts = postRepository.trending(pageable);
+                        // Fallback to trending, precomputed by PostRankingJob
+                        posts = postRepository.findPage(
+                                        postRankingRepository.findRankedIds(currentUser.getId(), pageable));
                 }
 
-                // Filter out posts from blocked users
-                List<Post> filtered = posts.getContent().stream()
-                                .filter(post -> !blockRepository.existsByBlockerAndBlocked(currentUser,
-                                                post.getAuthor())
-                                                && !blockRepository.existsByBlockerAndBlocked(post.getAuthor(),
-                                                                currentUser))
-                                .toList();
-
-                return new PageImpl<>(
-                                filtered.stream().map(post -> mapToResponse(post, currentUser)).toList(),
-                                pageable,
-                                posts.getTotalElements());
+                // Blocked authors are already excluded by the queries
+                return postHydrator.hydrate(posts, currentUser.getId());
+        }
+
+        /**
+         * Trending posts by engagement score, keyset-paginated over the
+         * precomputed ranking.
+         */
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
+        public CursorPage<PostResponse> getTrendingPosts(String username, String cursor, int size) {
+                size = CursorPage.clampSize(size);
+                User currentUser = userRepository.findByUsername(username).orElseThrow();
+                ScoreCursor after = ScoreCursor.decodeOr(cursor, ScoreCursor.HIGHEST);
+
+                List<PostRanking> rankings = postRankingRepository.findRankedBefore(
+                                after.score(), after.id(), currentUser.getId(), Limit.of(size + 1));
+                boolean hasMore = rankings.size() > size;
+                List<PostRanking> page = hasMore ? rankings.subList(0, size) : rankings;
+                String next = hasMore && !page.isEmpty()
+                                ? new ScoreCursor(page.get(size - 1).getScore(), page.get(size - 1).getPostId()).encode()
+                                : null;
+
+                List<Post> posts = postRepository.findAllInOrder(page.stream().map(PostRanking::getPostId).toList());
+                return new CursorPage<>(postHydrator.hydrate(posts, currentUser.getId()), next);
         }
 
         @org.springframework.transaction.annotation.Transactional
@@ -341,39 +426,10 @@ public class PostService {
                                 .orElseThrow(() -> new RuntimeException("User not found"));
                 Pageable pageable = PageRequest.of(page, size);
 
-                return savedPostRepository.findByUserOrderByCreatedAtDesc(user, pageable)
-                                .map(saved -> mapToResponse(saved.getPost(), user));
-        }
-
-        private PostResponse mapToResponse(Post post, User currentUser) {
-
-                long likeCount = postLikeRepository.countByPost(post);
-                boolean likedByMe = postLikeRepository.existsByUserAndPost(currentUser, post);
-                boolean isSaved = savedPostRepository.existsByUserAndPost(currentUser, post);
-
-                // Extract image URLs from PostImage entities
-                java.util.List<String> imageUrls = post.getImages().stream()
-                                .map(PostImage::getUrl)
-                                .toList();
-
-                return new PostResponse(
-                                post.getId(),
-                                post.getContent(),
-                                post.getAuthor().getUsername(),
-                                imageUrls,
-                                post.getCreatedAt(),
-                                likeCount,
-                                likedByMe,
-                                isSaved,
-                                post.getAuthor().getProfileImageUrl(),
-                                post.getAuthor().isVerified(),
-                                post.getLinkUrl(),
-                                post.getLinkTitle(),
-                                post.getLinkDescription(),
-                                post.getLinkImage(),
-                                mapToPollResponse(post.getPoll(), currentUser),
-                                post.getSharedPost() != null ? mapToResponse(post.getSharedPost(), currentUser) : null,
-                                post.getVideoUrl());
+                return postHydrator.hydrate(
+                                savedPostRepository.findByUserOrderByCreatedAtDesc(user, pageable)
+                                                .map(SavedPost::getPost),
+                                user.getId());
         }
 
         @org.springframework.transaction.annotation.Transactional
@@ -391,7 +447,14 @@ public class PostService {
                         fileStorageService.deleteFile(img.getUrl());
                 }
 
+                if (post.getSharedPost() != null) {
+                        postRepository.incrementShareCount(post.getSharedPost().getId(), -1);
+                }
+
+                publishHashtagsRemoved(post);
+
                 // Delete the post (cascade will delete PostImage records)
+                pollRepository.deleteByPost(post);
                 postRepository.delete(post);
         }
 
@@ -407,11 +470,22 @@ public class PostService {
 
                 contentModerationService.validateContent(content);
 
+                java.util.Set<String> previousTags = java.util.Set.copyOf(post.getHashtags());
+                java.util.Set<String> tags = ContentTokenizer.tokenize(content).hashtags();
+
                 post.setContent(content);
-                post.setHashtags(extractHashtags(content));
+                post.setHashtags(new java.util.HashSet<>(tags));
                 Post saved = postRepository.save(post);
 
-                return mapToResponse(saved, post.getAuthor());
+                if (!previousTags.equals(tags)) {
+                        java.util.Set<String> added = new java.util.HashSet<>(tags);
+                        added.removeAll(previousTags);
+                        java.util.Set<String> removed = new java.util.HashSet<>(previousTags);
+                        removed.removeAll(tags);
+                        eventPublisher.publishEvent(new HashtagsChangedEvent(added, removed, post.getCreatedAt()));
+                }
+
+                return postHydrator.hydrate(saved, post.getAuthor().getId());
         }
 
         @org.springframework.transaction.annotation.Transactional
@@ -423,91 +497,40 @@ public class PostService {
                 for (PostImage img : post.getImages()) {
                         fileStorageService.deleteFile(img.getUrl());
                 }
+                if (post.getSharedPost() != null) {
+                        postRepository.incrementShareCount(post.getSharedPost().getId(), -1);
+                }
+                publishHashtagsRemoved(post);
+                pollRepository.deleteByPost(post);
                 postRepository.delete(post);
         }
 
+        private void publishHashtagsRemoved(Post post) {
+                if (!post.getHashtags().isEmpty()) {
+                        eventPublisher.publishEvent(new HashtagsChangedEvent(
+                                        java.util.Set.of(), java.util.Set.copyOf(post.getHashtags()),
+                                        post.getCreatedAt()));
+                }
+        }
+
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public Page<PostResponse> searchPosts(String query, int page, int size, String username) {
                 User currentUser = userRepository.findByUsername(username).orElseThrow();
                 Pageable pageable = PageRequest.of(page, size);
 
-                Page<Post> posts = postRepository.searchByContent(query, pageable);
-
-                // Filter blocked users
-                java.util.List<Post> filtered = posts.getContent().stream()
-                                .filter(post -> !blockRepository.existsByBlockerAndBlocked(currentUser,
-                                                post.getAuthor())
-                                                && !blockRepository.existsByBlockerAndBlocked(post.getAuthor(),
-                                                                currentUser))
-                                .toList();
-
-                return new PageImpl<>(
-                                filtered.stream().map(post -> mapToResponse(post, currentUser)).toList(),
-                                pageable,
-                                posts.getTotalElements());
+                String tsQuery = PostSearchQuery.allOf(query);
+                if (tsQuery == null) {
+                        return new PageImpl<>(List.of(), pageable, 0);
+                }
+                // Blocked authors are excluded by the query
+                Page<Post> posts = postRepository.findPage(
+                                postRepository.searchIds(tsQuery, currentUser.getId(), pageable));
+                return postHydrator.hydrate(posts, currentUser.getId());
         }
 
         @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public Page<PostResponse> mapPosts(Page<Post> posts, String username) {
                 User currentUser = userRepository.findByUsername(username).orElseThrow();
-                return posts.map(post -> mapToResponse(post, currentUser));
-        }
-
-        private com.example.social.poll.dto.PollResponse mapToPollResponse(com.example.social.poll.Poll poll,
-                        User currentUser) {
-                if (poll == null)
-                        return null;
-
-                Long userVotedOptionId = null;
-                if (currentUser != null) {
-                        userVotedOptionId = pollVoteRepository.findByUserAndPoll(currentUser, poll)
-                                        .map(vote -> vote.getPollOption().getId())
-                                        .orElse(null);
-                }
-
-                long totalVotes = poll.getOptions().stream().mapToLong(com.example.social.poll.PollOption::getVoteCount)
-                                .sum();
-
-                List<com.example.social.poll.dto.PollOptionResponse> optionResponses = poll.getOptions().stream()
-                                .map(option -> new com.example.social.poll.dto.PollOptionResponse(
-                                                option.getId(),
-                                                option.getText(),
-                                                option.getVoteCount(),
-                                                totalVotes > 0 ? (double) option.getVoteCount() / totalVotes * 100 : 0))
-                                .toList();
-
-                return new com.example.social.poll.dto.PollResponse(
-                                poll.getId(),
-                                poll.getQuestion(),
-                                optionResponses,
-                                poll.getExpiryDateTime(),
-                                poll.isClosed(),
-                                totalVotes,
-                                userVotedOptionId);
-        }
-
-        private java.util.Set<String> extractHashtags(String content) {
-                if (content == null || content.isBlank()) {
-                        return new java.util.HashSet<>();
-                }
-                java.util.Set<String> tags = new java.util.HashSet<>();
-                java.util.regex.Matcher matcher = java.util.regex.Pattern.compile("#(\\w+)").matcher(content);
-                while (matcher.find()) {
-                        tags.add(matcher.group(1));
-                }
-                return tags;
-        }
-
-        @org.springframework.transaction.annotation.Transactional(readOnly = true)
-        public List<com.example.social.trending.TrendingTopicDTO> getTrendingHashtags() {
-                // Look back 48 hours for trending topics
-                java.time.LocalDateTime since = java.time.LocalDateTime.now().minusHours(48);
-                Pageable top10 = PageRequest.of(0, 10);
-
-                return postRepository.findTrendingHashtags(since, top10).stream()
-                                .map(result -> new com.example.social.trending.TrendingTopicDTO(
-                                                (String) result[0],
-                                                (Long) result[1]))
-                                .toList();
+                return postHydrator.hydrate(posts, currentUser.getId());
         }
 }
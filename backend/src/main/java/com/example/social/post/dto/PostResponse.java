@@ -20,5 +20,9 @@ public record PostResponse(
         String linkImage,
         com.example.social.poll.dto.PollResponse poll,
         PostResponse sharedPost,
-        String videoUrl) {
+        String videoUrl,
+        long commentCount,
+        long shareCount,
+        // Parallel to images; an entry is null until that image's variants exist
+        List<com.example.social.file.ImageVariantUrls> imageVariants) {
 }
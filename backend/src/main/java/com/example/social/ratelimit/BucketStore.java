@@ -0,0 +1,21 @@
+package com.example.social.ratelimit;
+
+/**
+ * Token buckets addressed by key. Implementations refill greedily, like
+ * bucket4j's {@code refillGreedy}.
+ */
+public interface BucketStore {
+
+    /**
+     * Takes one token from the bucket stored under {@code key}, creating it
+     * full when it does not exist.
+     */
+    Result tryConsume(String key, RateLimitProperties.RouteGroup group);
+
+    /**
+     * @param remaining  tokens left after this request
+     * @param waitMillis time until a token is available when rejected, else 0
+     */
+    record Result(boolean allowed, long remaining, long waitMillis) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.social.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buckets held in this JVM. Bounded in size, and idle buckets are evicted.
+ */
+public class LocalBucketStore implements BucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalBucketStore(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Result tryConsume(String key, RateLimitProperties.RouteGroup group) {
+        Bucket bucket = buckets.get(key, k -> newBucket(group));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        return new Result(
+                probe.isConsumed(),
+                probe.getRemainingTokens(),
+                TimeUnit.NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
+    }
+
+    private static Bucket newBucket(RateLimitProperties.RouteGroup group) {
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(group.getCapacity())
+                .refillGreedy(group.getRefillTokens(), group.getRefillPeriod())
+                .build();
+        return Bucket.builder().addLimit(limit).build();
+    }
+}
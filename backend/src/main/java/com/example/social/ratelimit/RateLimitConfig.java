@@ -0,0 +1,18 @@
+package com.example.social.ratelimit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public BucketStore bucketStore(RateLimitProperties properties, StringRedisTemplate redisTemplate) {
+        BucketStore local = new LocalBucketStore(properties);
+        if (properties.getStore() == RateLimitProperties.Store.REDIS) {
+            return new RedisBucketStore(redisTemplate, local);
+        }
+        return local;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.social.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Applies the first matching route group from {@link RateLimitProperties} to
+ * each request, with one bucket per group and client key. Registered after the
+ * Spring Security chain, so the authenticated username is available.
+ */
+public class RateLimitFilter implements Filter {
+
+    private final RateLimitProperties properties;
+    private final BucketStore bucketStore;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, BucketStore bucketStore, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bucketStore = bucketStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (!properties.isEnabled() || "OPTIONS".equalsIgnoreCase(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Map.Entry<String, RateLimitProperties.RouteGroup> match = findGroup(httpRequest);
+        if (match == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String groupName = match.getKey();
+        RateLimitProperties.RouteGroup group = match.getValue();
+        String username = group.getKeyBy() == RateLimitProperties.KeyBy.USER ? currentUsername() : null;
+        String keyClass = username != null ? "user" : "ip";
+        String keyValue = username != null ? username : httpRequest.getRemoteAddr();
+
+        BucketStore.Result result = bucketStore.tryConsume(groupName + ":" + keyClass + ":" + keyValue, group);
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setHeader("X-RateLimit-Remaining", String.valueOf(result.remaining()));
+        if (result.allowed()) {
+            chain.doFilter(request, response);
+        } else {
+            meterRegistry.counter("rate_limit.rejections", "group", groupName, "key_class", keyClass).increment();
+            httpResponse.setStatus(429);
+            httpResponse.setHeader("Retry-After", String.valueOf(Math.max(1, (result.waitMillis() + 999) / 1000)));
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write("{\"error\": \"Too many requests\"}");
+        }
+    }
+
+    private Map.Entry<String, RateLimitProperties.RouteGroup> findGroup(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitProperties.RouteGroup> entry : properties.getGroups().entrySet()) {
+            RateLimitProperties.RouteGroup group = entry.getValue();
+            boolean methodMatches = group.getMethods().isEmpty()
+                    || group.getMethods().stream().anyMatch(m -> m.equalsIgnoreCase(request.getMethod()));
+            if (methodMatches && group.getPatterns().stream().anyMatch(p -> pathMatcher.match(p, path))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
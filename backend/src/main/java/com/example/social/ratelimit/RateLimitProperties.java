@@ -0,0 +1,145 @@
+package com.example.social.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum Store {
+        LOCAL, REDIS
+    }
+
+    public enum KeyBy {
+        // Client address as seen by the servlet container; set
+        // server.forward-headers-strategy when running behind a proxy
+        IP,
+        // Authenticated username, falling back to IP for anonymous requests
+        USER
+    }
+
+    private boolean enabled = true;
+
+    // REDIS shares buckets across nodes; LOCAL keeps them per node
+    private Store store = Store.LOCAL;
+
+    // Upper bound on buckets held in memory by the local store
+    private long localMaxKeys = 100000;
+
+    // Buckets untouched for this long are dropped; they would be full again anyway
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Checked in declaration order; the first group matching a request applies
+    private Map<String, RouteGroup> groups = new LinkedHashMap<>();
+
+    public static class RouteGroup {
+
+        // Ant-style path patterns
+        private List<String> patterns = List.of();
+
+        // HTTP methods this group applies to; empty means all
+        private List<String> methods = List.of();
+
+        private KeyBy keyBy = KeyBy.IP;
+
+        private long capacity = 60;
+
+        private long refillTokens = 60;
+
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public KeyBy getKeyBy() {
+            return keyBy;
+        }
+
+        public void setKeyBy(KeyBy keyBy) {
+            this.keyBy = keyBy;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillTokens() {
+            return refillTokens;
+        }
+
+        public void setRefillTokens(long refillTokens) {
+            this.refillTokens = refillTokens;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public long getLocalMaxKeys() {
+        return localMaxKeys;
+    }
+
+    public void setLocalMaxKeys(long localMaxKeys) {
+        this.localMaxKeys = localMaxKeys;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Map<String, RouteGroup> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, RouteGroup> groups) {
+        this.groups = groups;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.social.ratelimit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all nodes, kept in Redis hashes and updated atomically by a
+ * Lua script. Falls back to a local store while Redis is unreachable, so
+ * limits stay enforced per node instead of being dropped.
+ */
+public class RedisBucketStore implements BucketStore {
+
+    // Returns {allowed, remaining, waitMillis}. Uses the Redis clock so nodes with
+    // skewed clocks agree on refill.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_tokens = tonumber(ARGV[2])
+            local refill_ms = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_tokens / refill_ms)
+            local allowed = 0
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                wait = math.ceil((1 - tokens) * refill_ms / refill_tokens)
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * refill_ms / refill_tokens) + 1000)
+            return {allowed, math.floor(tokens), wait}
+            """, List.class);
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final BucketStore fallback;
+
+    public RedisBucketStore(StringRedisTemplate redisTemplate, BucketStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Result tryConsume(String key, RateLimitProperties.RouteGroup group) {
+        try {
+            List<?> result = redisTemplate.execute(
+                    TOKEN_BUCKET_SCRIPT,
+                    List.of(KEY_PREFIX + key),
+                    String.valueOf(group.getCapacity()),
+                    String.valueOf(group.getRefillTokens()),
+                    String.valueOf(group.getRefillPeriod().toMillis()));
+            if (result != null && result.size() == 3) {
+                return new Result(
+                        ((Number) result.get(0)).longValue() == 1,
+                        ((Number) result.get(1)).longValue(),
+                        ((Number) result.get(2)).longValue());
+            }
+        } catch (DataAccessException e) {
+            System.err.println("Rate limit store unavailable, using local buckets: " + e.getMessage());
+        }
+        return fallback.tryConsume(key, group);
+    }
+}
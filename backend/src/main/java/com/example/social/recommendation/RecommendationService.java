@@ -17,20 +17,17 @@ public class RecommendationService {
     private final PostRepository postRepo;
     private final UserRepository userRepo;
 
-    private final com.example.social.post.SavedPostRepository savedPostRepo;
-    private final com.example.social.like.PostLikeRepository postLikeRepository;
+    private final com.example.social.post.PostHydrator postHydrator;
 
     public RecommendationService(
             UserInterestRepository interestRepo,
             PostRepository postRepo,
             UserRepository userRepo,
-            com.example.social.post.SavedPostRepository savedPostRepo,
-            com.example.social.like.PostLikeRepository postLikeRepository) {
+            com.example.social.post.PostHydrator postHydrator) {
         this.interestRepo = interestRepo;
         this.postRepo = postRepo;
         this.userRepo = userRepo;
-        this.savedPostRepo = savedPostRepo;
-        this.postLikeRepository = postLikeRepository;
+        this.postHydrator = postHydrator;
     }
 
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -48,56 +45,8 @@ public class RecommendationService {
         if (tags.size() < 3)
             tags.add("coding");
 
-        // Pass first 3 tags
-        return postRepo.exploreMultiTag(
-                tags.get(0),
-                tags.get(1),
-                tags.get(2),
-                pageable).map(post -> {
-                    long likeCount = postLikeRepository.countByPost(post);
-                    boolean likedByMe = postLikeRepository.existsByUserAndPost(user, post);
-                    boolean isSaved = savedPostRepo.existsByUserAndPost(user, post);
-                    java.util.List<String> imageUrls = post.getImages().stream()
-                            .map(com.example.social.post.PostImage::getUrl)
-                            .toList();
-
-                    return new com.example.social.post.dto.PostResponse(
-                            post.getId(),
-                            post.getContent(),
-                            post.getAuthor().getUsername(),
-                            imageUrls,
-                            post.getCreatedAt(),
-                            likeCount,
-                            likedByMe,
-                            isSaved,
-                            post.getAuthor().getProfileImageUrl(),
-                            post.getAuthor().isVerified(),
-                            post.getLinkUrl(),
-                            post.getLinkTitle(),
-                            post.getLinkDescription(),
-                            post.getLinkImage(),
-                            null,
-                            post.getSharedPost() != null ? new com.example.social.post.dto.PostResponse(
-                                    post.getSharedPost().getId(),
-                                    post.getSharedPost().getContent(),
-                                    post.getSharedPost().getAuthor().getUsername(),
-                                    post.getSharedPost().getImages().stream()
-                                            .map(com.example.social.post.PostImage::getUrl).toList(),
-                                    post.getSharedPost().getCreatedAt(),
-                                    0L, // Like count for inner
-                                    false, // likedByMe for inner
-                                    false, // isSaved for inner
-                                    post.getSharedPost().getAuthor().getProfileImageUrl(),
-                                    post.getSharedPost().getAuthor().isVerified(),
-                                    post.getSharedPost().getLinkUrl(),
-                                    post.getSharedPost().getLinkTitle(),
-                                    post.getSharedPost().getLinkDescription(),
-                                    post.getSharedPost().getLinkImage(),
-                                    null,
-                                    null,
-                                    null)
-                                    : null,
-                            post.getVideoUrl());
-                });
+        // Posts matching any of the first tags, via the full-text index
+        String query = com.example.social.post.PostSearchQuery.anyOf(tags.subList(0, Math.min(tags.size(), 10)));
+        return postHydrator.hydrate(postRepo.findPage(postRepo.findIdsMatching(query, user.getId(), pageable)), user.getId());
     }
 }
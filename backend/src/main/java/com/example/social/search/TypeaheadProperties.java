@@ -0,0 +1,20 @@
+package com.example.social.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.typeahead")
+public class TypeaheadProperties {
+
+    // Most-followed users kept per trie node; also the most suggestions per query
+    private int capacity = 20;
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+}
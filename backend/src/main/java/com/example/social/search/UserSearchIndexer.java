@@ -0,0 +1,126 @@
+package com.example.social.search;
+
+import com.example.social.user.User;
+import com.example.social.user.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Drains {@code user_search_outbox} into Elasticsearch in bulk requests.
+ *
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so replicas
+ * drain the outbox in parallel without sending a row twice. Rows for the same
+ * user collapse into one document built from the user's current state; deleted
+ * (anonymized) users are removed from the index. When
+ * Elasticsearch fails, the batch stays in the outbox and is retried with
+ * exponential backoff.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "elasticsearch-enabled", havingValue = "true")
+public class UserSearchIndexer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final UserSearchRepository userSearchRepository;
+    private final UserSearchProperties properties;
+
+    public UserSearchIndexer(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            UserRepository userRepository,
+            UserSearchRepository userSearchRepository,
+            UserSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.userSearchRepository = userSearchRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelay = 5000, fixedDelayString = "${app.search.indexer-interval-ms:1000}")
+    public void drain() {
+        // Keep going while batches come back full, so a backlog clears quickly
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> indexBatch());
+        } while (claimed != null && claimed == properties.getBatchSize());
+    }
+
+    private int indexBatch() {
+        Map<Long, List<Long>> rowsByUser = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT id, user_id FROM user_search_outbox
+                WHERE next_attempt_at <= now()
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, rs -> {
+            rowsByUser.computeIfAbsent(rs.getLong("user_id"), k -> new ArrayList<>()).add(rs.getLong("id"));
+        }, properties.getBatchSize());
+        if (rowsByUser.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rowIds = new ArrayList<>();
+        rowsByUser.values().forEach(ids -> ids.forEach(id -> rowIds.add(new Object[] { id })));
+
+        try {
+            List<UserDocument> upserts = new ArrayList<>();
+            Set<String> deletes = new HashSet<>();
+            rowsByUser.keySet().forEach(userId -> deletes.add(userId.toString()));
+            for (User user : userRepository.findAllById(rowsByUser.keySet())) {
+                if (isSearchable(user)) {
+                    upserts.add(toDocument(user));
+                    deletes.remove(user.getId().toString());
+                }
+            }
+            if (!upserts.isEmpty()) {
+                userSearchRepository.saveAll(upserts);
+            }
+            if (!deletes.isEmpty()) {
+                userSearchRepository.deleteAllById(deletes);
+            }
+            jdbcTemplate.batchUpdate("DELETE FROM user_search_outbox WHERE id = ?", rowIds);
+        } catch (RuntimeException e) {
+            System.err.println("User search indexing failed for " + rowIds.size() + " outbox rows, will retry: "
+                    + e.getMessage());
+            String error = String.valueOf(e.getMessage());
+            jdbcTemplate.batchUpdate("""
+                    UPDATE user_search_outbox
+                    SET attempts = attempts + 1,
+                        next_attempt_at = now() + make_interval(secs => LEAST(? * power(2, attempts), ?)),
+                        last_error = ?
+                    WHERE id = ?
+                    """, rowIds.stream()
+                    .map(row -> new Object[] {
+                            properties.getRetryBackoff().toSeconds(),
+                            properties.getMaxRetryBackoff().toSeconds(),
+                            error.length() > 500 ? error.substring(0, 500) : error,
+                            row[0] })
+                    .toList());
+        }
+        return rowIds.size();
+    }
+
+    private static boolean isSearchable(User user) {
+        // UserService.deleteAccount renames the account to deleted_<id>_<suffix>
+        return !user.getUsername().startsWith("deleted_");
+    }
+
+    private static UserDocument toDocument(User user) {
+        UserDocument doc = new UserDocument();
+        doc.setId(user.getId().toString());
+        doc.setUserId(user.getId());
+        doc.setUsername(user.getUsername());
+        doc.setBio(user.getBio());
+        doc.setProfileImageUrl(user.getProfileImageUrl());
+        doc.setVerified(user.isVerified());
+        return doc;
+    }
+}
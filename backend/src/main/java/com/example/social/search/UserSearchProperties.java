@@ -0,0 +1,66 @@
+package com.example.social.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class UserSearchProperties {
+
+    // Index users in Elasticsearch and search there; when off, search only
+    // uses the local trigram index and no outbox rows are written
+    private boolean elasticsearchEnabled = false;
+
+    // Outbox rows sent to Elasticsearch per bulk request
+    private int batchSize = 200;
+
+    // Delay before retrying a failed batch, doubled per attempt up to the max
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(10);
+
+    // After an Elasticsearch query fails, searches use the local index for this long
+    private Duration fallbackPeriod = Duration.ofSeconds(30);
+
+    public boolean isElasticsearchEnabled() {
+        return elasticsearchEnabled;
+    }
+
+    public void setElasticsearchEnabled(boolean elasticsearchEnabled) {
+        this.elasticsearchEnabled = elasticsearchEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public Duration getMaxRetryBackoff() {
+        return maxRetryBackoff;
+    }
+
+    public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    public Duration getFallbackPeriod() {
+        return fallbackPeriod;
+    }
+
+    public void setFallbackPeriod(Duration fallbackPeriod) {
+        this.fallbackPeriod = fallbackPeriod;
+    }
+}
@@ -2,10 +2,22 @@ package com.example.social.search;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
 public interface UserSearchRepository extends ElasticsearchRepository<UserDocument, String> {
     Page<UserDocument> findByUsernameContaining(String username, Pageable pageable);
 
     java.util.List<UserDocument> findByUsernameContaining(String username);
+
+    // Username prefix matches rank first, then typo-tolerant username matches,
+    // then bio matches. Prefix terms are not analyzed, so pass the query lower-cased
+    @Query("""
+            {"bool": {"should": [
+                {"prefix": {"username": {"value": "?0", "boost": 3}}},
+                {"match": {"username": {"query": "?0", "fuzziness": "AUTO", "boost": 2}}},
+                {"match": {"bio": {"query": "?0", "fuzziness": "AUTO"}}}
+            ], "minimum_should_match": 1}}
+            """)
+    Page<UserDocument> search(String query, Pageable pageable);
 }
@@ -0,0 +1,63 @@
+package com.example.social.search;
+
+import com.example.social.user.UserRepository;
+import com.example.social.user.dto.UserSearchResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+
+/**
+ * User search with prefix and fuzzy matching in Elasticsearch, falling back to
+ * the local trigram index on users.username when Elasticsearch is disabled or
+ * failing. After a failed query the fallback is used for
+ * {@code app.search.fallback-period} before Elasticsearch is tried again, so an
+ * outage does not add a timeout to every search.
+ */
+@Service
+public class UserSearchService {
+
+    private final ObjectProvider<UserSearchRepository> userSearchRepository;
+    private final UserRepository userRepository;
+    private final UserSearchProperties properties;
+
+    private volatile long elasticsearchRetryAt = 0;
+
+    public UserSearchService(
+            ObjectProvider<UserSearchRepository> userSearchRepository,
+            UserRepository userRepository,
+            UserSearchProperties properties) {
+        this.userSearchRepository = userSearchRepository;
+        this.userRepository = userRepository;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserSearchResponse> search(String query, Pageable pageable) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        UserSearchRepository repository = userSearchRepository.getIfAvailable();
+        if (repository != null && System.currentTimeMillis() >= elasticsearchRetryAt) {
+            try {
+                return repository.search(term, pageable)
+                        .map(doc -> new UserSearchResponse(doc.getUsername(), doc.getBio(), doc.getProfileImageUrl()));
+            } catch (RuntimeException e) {
+                elasticsearchRetryAt = System.currentTimeMillis() + properties.getFallbackPeriod().toMillis();
+                System.err.println("Elasticsearch user search failed, using local search: " + e.getMessage());
+            }
+        }
+
+        return userRepository.searchByUsername(escapeLike(term), term, pageable)
+                .map(u -> new UserSearchResponse(u.getUsername(), u.getBio(), u.getProfileImageUrl()));
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,30 +1,45 @@
 package com.example.social.search;
 
 import com.example.social.user.User;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Writes the user search outbox. Call it inside the transaction that changes
+ * the user, so the index update is recorded exactly when the change commits;
+ * {@link UserSearchIndexer} pushes it to Elasticsearch afterwards.
+ */
 @Service
 public class UserSyncService {
 
-    // private final UserSearchRepository userSearchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserSearchProperties properties;
 
-    // public UserSyncService(UserSearchRepository userSearchRepository) {
-    // this.userSearchRepository = userSearchRepository;
-    // }
+    public UserSyncService(JdbcTemplate jdbcTemplate, UserSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
 
-    @Async
+    @Transactional
     public void syncUser(User user) {
-        // UserDocument doc = new UserDocument();
-        // doc.setId(user.getId().toString()); // Elastic ID
-        // doc.setUserId(user.getId());
-        // doc.setUsername(user.getUsername());
-        // doc.setBio(user.getBio());
-        // doc.setProfileImageUrl(user.getProfileImageUrl());
-        // doc.setVerified(user.isVerified());
-
-        // userSearchRepository.save(doc);
+        if (!properties.isElasticsearchEnabled()) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO user_search_outbox (user_id) VALUES (?)", user.getId());
     }
 
-    // We can call this explicitly from UserService
+    /**
+     * Queues every user for indexing, to build the index from scratch or
+     * repair it after indexing was switched off.
+     *
+     * @return the number of users queued
+     */
+    @Transactional
+    public int syncAll() {
+        if (!properties.isElasticsearchEnabled()) {
+            throw new RuntimeException("Elasticsearch indexing is disabled");
+        }
+        return jdbcTemplate.update("INSERT INTO user_search_outbox (user_id) SELECT id FROM users");
+    }
 }
@@ -0,0 +1,334 @@
+package com.example.social.search;
+
+import java.util.*;
+
+/**
+ * Radix trie over lower-cased usernames that answers "most followed users
+ * whose name starts with p" without visiting the whole subtree under p.
+ *
+ * Chains of single-child nodes are collapsed into one edge label, so the trie
+ * has at most about two nodes per user. A node whose subtree holds more than
+ * {@code capacity} users keeps its top {@code capacity} entries by follower
+ * count; smaller subtrees are walked in full, which is at most
+ * {@code capacity} entries. Every change recomputes the lists on the path to
+ * the changed name only.
+ *
+ * Not thread-safe; {@link UsernameTypeahead} guards it with a read-write lock.
+ */
+public final class UsernameTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    // Most followed first; ties by name so results are stable
+    static final Comparator<Entry> BY_FOLLOWERS = Comparator
+            .comparingInt(Entry::followers).reversed()
+            .thenComparing(Entry::username, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(Entry::id);
+
+    private final int capacity;
+    private final Node root = new Node(NO_CHARS);
+    private final Map<Long, Entry> byId = new HashMap<>();
+
+    public UsernameTrie(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Entry get(long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Adds a user, or moves it when the id is already present under another
+     * name.
+     */
+    public void put(long id, String username, int followers) {
+        if (byId.containsKey(id)) {
+            remove(id);
+        }
+        Entry entry = new Entry(id, username, Math.max(0, followers));
+        byId.put(id, entry);
+
+        String key = key(username);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int slot = Arrays.binarySearch(node.keys, key.charAt(i));
+            if (slot < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                node.insertChild(-slot - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[slot];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                child = split(node, slot, common);
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        node.entries = append(node.entries, entry);
+
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node n = path.get(p);
+            n.size++;
+            updateTop(n);
+        }
+    }
+
+    public void remove(long id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return;
+        }
+        List<Node> path = pathTo(key(entry.username));
+        Node node = path.get(path.size() - 1);
+        node.entries = without(node.entries, entry);
+
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node n = path.get(p);
+            n.size--;
+            if (p > 0 && n.size == 0) {
+                path.get(p - 1).removeChild(n);
+                continue;
+            }
+            if (p > 0 && n.entries.length == 0 && n.children.length == 1) {
+                n.absorbOnlyChild();
+            }
+            updateTop(n);
+        }
+    }
+
+    public void adjustFollowers(long id, int delta) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return;
+        }
+        entry.followers = Math.max(0, entry.followers + delta);
+        List<Node> path = pathTo(key(entry.username));
+        for (int p = path.size() - 1; p >= 0; p--) {
+            updateTop(path.get(p));
+        }
+    }
+
+    /**
+     * The most followed users whose name starts with {@code prefix}, ignoring
+     * case; at most {@code capacity} of them.
+     */
+    public List<Entry> mostFollowed(String prefix, int limit) {
+        Node node = find(key(prefix));
+        if (node == null) {
+            return List.of();
+        }
+        List<Entry> ranked;
+        if (node.top != null) {
+            ranked = Arrays.asList(node.top);
+        } else {
+            ranked = new ArrayList<>(node.size);
+            collect(node, ranked);
+            ranked.sort(BY_FOLLOWERS);
+        }
+        return List.copyOf(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    static boolean startsWith(Entry entry, String prefix) {
+        return entry.username.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    // Node whose subtree holds exactly the names starting with key
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int slot = Arrays.binarySearch(node.keys, key.charAt(i));
+            if (slot < 0) {
+                return null;
+            }
+            Node child = node.children[slot];
+            int common = commonPrefix(child.label, key, i);
+            if (i + common == key.length()) {
+                return child;
+            }
+            if (common < child.label.length) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    // Nodes from the root to the node where an existing key ends
+    private List<Node> pathTo(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            node = node.children[Arrays.binarySearch(node.keys, key.charAt(i))];
+            path.add(node);
+            i += node.label.length;
+        }
+        return path;
+    }
+
+    // Splits parent's child at slot after `at` label characters; returns the new middle node
+    private static Node split(Node parent, int slot, int at) {
+        Node child = parent.children[slot];
+        Node middle = new Node(Arrays.copyOfRange(child.label, 0, at));
+        child.label = Arrays.copyOfRange(child.label, at, child.label.length);
+        middle.keys = new char[] { child.label[0] };
+        middle.children = new Node[] { child };
+        middle.size = child.size;
+        middle.top = child.top;
+        parent.children[slot] = middle;
+        return middle;
+    }
+
+    private void updateTop(Node node) {
+        if (node.size <= capacity) {
+            node.top = null;
+            return;
+        }
+        List<Entry> candidates = new ArrayList<>(Arrays.asList(node.entries));
+        for (Node child : node.children) {
+            if (child.top != null) {
+                candidates.addAll(Arrays.asList(child.top));
+            } else {
+                collect(child, candidates);
+            }
+        }
+        candidates.sort(BY_FOLLOWERS);
+        node.top = candidates.subList(0, capacity).toArray(NO_ENTRIES);
+    }
+
+    private static void collect(Node node, List<Entry> into) {
+        into.addAll(Arrays.asList(node.entries));
+        for (Node child : node.children) {
+            collect(child, into);
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int from) {
+        int n = Math.min(label.length, key.length() - from);
+        int i = 0;
+        while (i < n && label[i] == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        Entry[] grown = Arrays.copyOf(entries, entries.length + 1);
+        grown[entries.length] = entry;
+        return grown;
+    }
+
+    private static Entry[] without(Entry[] entries, Entry entry) {
+        Entry[] remaining = Arrays.stream(entries).filter(e -> e != entry).toArray(Entry[]::new);
+        return remaining.length == 0 ? NO_ENTRIES : remaining;
+    }
+
+    /**
+     * One indexed user. Follower counts change in place, so read entries under
+     * the same lock as the trie.
+     */
+    public static final class Entry {
+        private final long id;
+        private final String username;
+        private int followers;
+
+        Entry(long id, String username, int followers) {
+            this.id = id;
+            this.username = username;
+            this.followers = followers;
+        }
+
+        public long id() {
+            return id;
+        }
+
+        public String username() {
+            return username;
+        }
+
+        public int followers() {
+            return followers;
+        }
+    }
+
+    private static final class Node {
+        // Characters on the edge from the parent
+        char[] label;
+        // First label character of each child, sorted, parallel to children
+        char[] keys = NO_CHARS;
+        Node[] children = NO_CHILDREN;
+        // Users whose lower-cased name ends here; more than one only when
+        // names differ by case alone
+        Entry[] entries = NO_ENTRIES;
+        // Users in this subtree
+        int size;
+        // Top entries of the subtree by followers, only when size > capacity
+        Entry[] top;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        void insertChild(int slot, Node child) {
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            newKeys[slot] = child.label[0];
+            newChildren[slot] = child;
+            System.arraycopy(keys, slot, newKeys, slot + 1, keys.length - slot);
+            System.arraycopy(children, slot, newChildren, slot + 1, children.length - slot);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void removeChild(Node child) {
+            int slot = Arrays.binarySearch(keys, child.label[0]);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            System.arraycopy(keys, slot + 1, newKeys, slot, keys.length - slot - 1);
+            System.arraycopy(children, slot + 1, newChildren, slot, children.length - slot - 1);
+            keys = newKeys.length == 0 ? NO_CHARS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        // Merges a lone child into this node, keeping this node's place in its
+        // parent; the first label character, and so the parent's key, is unchanged
+        void absorbOnlyChild() {
+            Node child = children[0];
+            char[] merged = Arrays.copyOf(label, label.length + child.label.length);
+            System.arraycopy(child.label, 0, merged, label.length, child.label.length);
+            label = merged;
+            keys = child.keys;
+            children = child.children;
+            entries = child.entries;
+            size = child.size;
+            top = child.top;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.social.search;
+
+import com.example.social.follow.FollowChangedEvent;
+import com.example.social.graph.LongSet;
+import com.example.social.graph.SocialGraphService;
+import com.example.social.user.UserSnapshot;
+import com.example.social.user.UserSnapshotCache;
+import com.example.social.user.UsernameChangedEvent;
+import com.example.social.user.dto.UserTypeaheadResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Username suggestions for mentions and the search box, answered from an
+ * in-process {@link UsernameTrie} instead of a LIKE query per keystroke.
+ *
+ * Matches are ranked with an exact name first, then users the searcher
+ * follows, then by follower count. The searcher's followed ids come from
+ * {@link SocialGraphService}, so typing a name costs at most one query, on
+ * the first keystroke.
+ *
+ * The trie is loaded at startup and rebuilt every
+ * {@code app.typeahead.rebuild-interval-ms}. In between it follows
+ * {@link UsernameChangedEvent}s and {@link FollowChangedEvent}s after commit,
+ * shared with other replicas over Redis pub/sub. Follower counts can drift by
+ * a few until the next rebuild, which only affects ranking.
+ */
+@Service
+public class UsernameTypeahead implements MessageListener {
+
+    private static final String CHANGE_CHANNEL = "typeahead:changes";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SocialGraphService socialGraph;
+    private final UserSnapshotCache userSnapshotCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TypeaheadProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private UsernameTrie trie;
+    // Changes seen while a rebuild is loading, replayed onto the new trie
+    private List<Consumer<UsernameTrie>> duringRebuild;
+
+    public UsernameTypeahead(
+            JdbcTemplate jdbcTemplate,
+            SocialGraphService socialGraph,
+            UserSnapshotCache userSnapshotCache,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            TypeaheadProperties properties,
+            RedisMessageListenerContainer listenerContainer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.socialGraph = socialGraph;
+        this.userSnapshotCache = userSnapshotCache;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.trie = new UsernameTrie(properties.getCapacity());
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    public List<UserTypeaheadResponse> suggest(String searcherUsername, String query, int limit) {
+        String prefix = query == null ? "" : query.trim();
+        if (prefix.startsWith("@")) {
+            prefix = prefix.substring(1);
+        }
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, properties.getCapacity()));
+        LongSet followed = userSnapshotCache.getByUsername(searcherUsername)
+                .map(searcher -> socialGraph.following(searcher.id()))
+                .orElse(LongSet.empty());
+
+        List<Suggestion> ranked = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<UsernameTrie.Entry> candidates = new LinkedHashSet<>(trie.mostFollowed(prefix, max));
+            String typed = prefix;
+            followed.forEach(id -> {
+                UsernameTrie.Entry entry = trie.get(id);
+                if (entry != null && UsernameTrie.startsWith(entry, typed)) {
+                    candidates.add(entry);
+                }
+            });
+            for (UsernameTrie.Entry entry : candidates) {
+                ranked.add(new Suggestion(entry.id(), entry.username(), entry.followers(),
+                        followed.contains(entry.id()),
+                        entry.username().equalsIgnoreCase(prefix)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ranked.sort(Comparator.comparing(Suggestion::exact).reversed()
+                .thenComparing(Comparator.comparing(Suggestion::followedBySearcher).reversed())
+                .thenComparing(Comparator.comparingInt(Suggestion::followers).reversed())
+                .thenComparing(Suggestion::username, String.CASE_INSENSITIVE_ORDER));
+
+        List<UserTypeaheadResponse> results = new ArrayList<>(max);
+        for (Suggestion suggestion : ranked.subList(0, Math.min(max, ranked.size()))) {
+            // Display fields come from the user snapshot cache, normally without leaving the process
+            Optional<UserSnapshot> user = userSnapshotCache.getById(suggestion.id());
+            results.add(new UserTypeaheadResponse(
+                    suggestion.username(),
+                    user.map(UserSnapshot::profileImageUrl).orElse(null),
+                    user.map(UserSnapshot::verified).orElse(false),
+                    suggestion.followers(),
+                    suggestion.followedBySearcher()));
+        }
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsernameChanged(UsernameChangedEvent event) {
+        apply(usernameChange(event.userId(), event.username()));
+        publish(new ChangeMessage(nodeId, event.userId(), event.username(), 0));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        int delta = event.following() ? 1 : -1;
+        apply(trie -> trie.adjustFollowers(event.followingId(), delta));
+        publish(new ChangeMessage(nodeId, event.followingId(), null, delta));
+    }
+
+    // Changes from other replicas
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ChangeMessage change = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), ChangeMessage.class);
+            if (nodeId.equals(change.node())) {
+                return;
+            }
+            if (change.followerDelta() != 0) {
+                apply(trie -> trie.adjustFollowers(change.userId(), change.followerDelta()));
+            } else {
+                apply(usernameChange(change.userId(), change.username()));
+            }
+        } catch (JsonProcessingException e) {
+            System.err.println("Ignoring malformed typeahead change: " + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.typeahead.rebuild-interval-ms:900000}",
+            fixedDelayString = "${app.typeahead.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            duringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        UsernameTrie fresh = new UsernameTrie(properties.getCapacity());
+        try {
+            jdbcTemplate.query("""
+                    SELECT u.id, u.username, COALESCE(f.followers, 0) AS followers
+                    FROM users u
+                    LEFT JOIN (
+                        SELECT following_id, COUNT(*) AS followers FROM follows GROUP BY following_id
+                    ) f ON f.following_id = u.id
+                    """, rs -> {
+                String username = rs.getString("username");
+                if (isSuggestible(username)) {
+                    fresh.put(rs.getLong("id"), username, rs.getInt("followers"));
+                }
+            });
+        } catch (DataAccessException e) {
+            System.err.println("Could not rebuild username typeahead: " + e.getMessage());
+            lock.writeLock().lock();
+            try {
+                duringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            duringRebuild.forEach(change -> change.accept(fresh));
+            duringRebuild = null;
+            trie = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<UsernameTrie> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(trie);
+            if (duringRebuild != null) {
+                duringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Consumer<UsernameTrie> usernameChange(Long userId, String username) {
+        return trie -> {
+            if (isSuggestible(username)) {
+                UsernameTrie.Entry existing = trie.get(userId);
+                trie.put(userId, username, existing != null ? existing.followers() : 0);
+            } else {
+                trie.remove(userId);
+            }
+        };
+    }
+
+    // UserService.deleteAccount renames the account to deleted_<id>_<suffix>
+    private static boolean isSuggestible(String username) {
+        return username != null && !username.startsWith("deleted_");
+    }
+
+    private void publish(ChangeMessage change) {
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, objectMapper.writeValueAsString(change));
+        } catch (DataAccessException | JsonProcessingException e) {
+            System.err.println("Could not share typeahead change: " + e.getMessage());
+        }
+    }
+
+    private record Suggestion(long id, String username, int followers, boolean followedBySearcher, boolean exact) {
+    }
+
+    // A follower count change of userId by followerDelta, or when that is 0 a
+    // username change (username null for a deletion)
+    record ChangeMessage(String node, Long userId, String username, int followerDelta) {
+    }
+}
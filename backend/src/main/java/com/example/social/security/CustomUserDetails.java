@@ -29,6 +29,21 @@ public class CustomUserDetails implements UserDetails {
         this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
     }
 
+    // For token authentication, where the password is never checked
+    public CustomUserDetails(com.example.social.user.UserSnapshot user) {
+        this(user.id(), user.username(), user.tokenVersion(), user.banned(), user.role());
+    }
+
+    public CustomUserDetails(Long id, String username, int tokenVersion, boolean isBanned, String role) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.tokenVersion = tokenVersion;
+        this.isBanned = isBanned;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
     public Long getId() {
         return id;
     }
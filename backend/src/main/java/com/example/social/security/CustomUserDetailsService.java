@@ -1,7 +1,7 @@
 package com.example.social.security;
 
-import com.example.social.user.User;
-import com.example.social.user.UserRepository;
+import com.example.social.user.UserSnapshot;
+import com.example.social.user.UserSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
@@ -10,17 +10,17 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-        private final UserRepository userRepository;
+        private final UserSnapshotCache userSnapshotCache;
 
         @Override
         public UserDetails loadUserByUsername(String username)
                         throws UsernameNotFoundException {
 
-                User user = userRepository.findByUsername(username)
+                UserSnapshot user = userSnapshotCache.getByUsername(username)
                                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
                 if (user.isSuspended()) {
-                        throw new RuntimeException("Account suspended until " + user.getBannedUntil());
+                        throw new RuntimeException("Account suspended until " + user.bannedUntil());
                 }
 
                 return new CustomUserDetails(user);
@@ -1,5 +1,6 @@
 package com.example.social.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,7 +19,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -36,30 +36,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username;
+        Claims claims;
 
+        // Signature and expiry are checked here, in a single parse
         try {
-            username = jwtService.extractUsername(token);
+            claims = jwtService.parseClaims(token);
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
+        String username = claims.getSubject();
 
         // If user is not yet authenticated
         if (username != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // In-memory lookup; no database round trip once the user is known
+            TokenState state = revocationRegistry.get(username);
+            if (state == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            // Block banned users even with valid tokens
-            if (userDetails instanceof CustomUserDetails) {
-                if (((CustomUserDetails) userDetails).isBanned()) {
-                    response.setStatus(403);
-                    return;
-                }
+            // Block banned or suspended users even with valid tokens
+            if (state.banned() || state.isSuspended()) {
+                response.setStatus(403);
+                return;
             }
 
-            if (jwtService.isTokenValid(token, userDetails)) {
+            if (jwtService.hasTokenVersion(claims, state.tokenVersion())) {
+                CustomUserDetails userDetails = new CustomUserDetails(
+                        state.userId(), username, state.tokenVersion(), state.banned(), state.role());
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
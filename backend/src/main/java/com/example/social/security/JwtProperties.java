@@ -9,6 +9,10 @@ public class JwtProperties {
     private String secret;
     private long expiration;
 
+    // Entries kept by TokenRevocationRegistry, and how long before one is reloaded
+    private long revocationCacheSize = 100000;
+    private java.time.Duration revocationCacheTtl = java.time.Duration.ofMinutes(15);
+
     public String getSecret() {
         return secret;
     }
@@ -24,4 +28,20 @@ public class JwtProperties {
     public void setExpiration(long expiration) {
         this.expiration = expiration;
     }
+
+    public long getRevocationCacheSize() {
+        return revocationCacheSize;
+    }
+
+    public void setRevocationCacheSize(long revocationCacheSize) {
+        this.revocationCacheSize = revocationCacheSize;
+    }
+
+    public java.time.Duration getRevocationCacheTtl() {
+        return revocationCacheTtl;
+    }
+
+    public void setRevocationCacheTtl(java.time.Duration revocationCacheTtl) {
+        this.revocationCacheTtl = revocationCacheTtl;
+    }
 }
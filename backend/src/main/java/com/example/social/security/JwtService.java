@@ -3,7 +3,6 @@ package com.example.social.security;
 import com.example.social.user.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,13 +12,20 @@ import java.util.Date;
 import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private final JwtProperties jwtProperties;
 
-    private Key getKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+    // Both are immutable and thread-safe, so they are built once
+    private final Key key;
+    private final JwtParser parser;
+
+    public JwtService(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(User user) {
@@ -30,7 +36,7 @@ public class JwtService {
                 .claim("ver", user.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -39,23 +45,37 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        boolean usernameMatches = username.equals(userDetails.getUsername());
-        boolean notExpired = !isTokenExpired(token);
+        final Claims claims = parseClaims(token);
+        boolean usernameMatches = claims.getSubject().equals(userDetails.getUsername());
+        boolean notExpired = !claims.getExpiration().before(new Date());
 
         if (!usernameMatches || !notExpired) {
             return false;
         }
 
         if (userDetails instanceof CustomUserDetails customUserDetails) {
-            Integer tokenVer = extractClaim(token, claims -> claims.get("ver", Integer.class));
-            int ver = tokenVer != null ? tokenVer : 0;
-            return ver == customUserDetails.getTokenVersion();
+            return hasTokenVersion(claims, customUserDetails.getTokenVersion());
         }
 
         return true;
     }
 
+    /**
+     * Verifies the signature and expiry once; callers read everything they need
+     * from the returned claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public boolean hasTokenVersion(Claims claims, int tokenVersion) {
+        Integer tokenVer = claims.get("ver", Integer.class);
+        int ver = tokenVer != null ? tokenVer : 0;
+        return ver == tokenVersion;
+    }
+
     public boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -70,10 +90,6 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 }
@@ -90,12 +90,18 @@ public class SecurityConfig {
                 return source;
         }
 
+        // Runs after the security chain so limits can be keyed by username; route
+        // groups are configured under app.rate-limit
         @Bean
-        public FilterRegistrationBean<Filter> rateLimitFilter() {
-                Filter filter = new RateLimitFilter();
+        public FilterRegistrationBean<Filter> rateLimitFilter(
+                        com.example.social.ratelimit.RateLimitProperties properties,
+                        com.example.social.ratelimit.BucketStore bucketStore,
+                        io.micrometer.core.instrument.MeterRegistry meterRegistry) {
+                Filter filter = new com.example.social.ratelimit.RateLimitFilter(properties, bucketStore,
+                                meterRegistry);
                 FilterRegistrationBean<Filter> reg = new FilterRegistrationBean<>();
                 reg.setFilter(filter);
-                reg.addUrlPatterns("/api/auth/login");
+                reg.addUrlPatterns("/api/*");
                 return reg;
         }
 }
@@ -0,0 +1,123 @@
+package com.example.social.security;
+
+import com.example.social.user.User;
+import com.example.social.user.UserSnapshotCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+
+/**
+ * In-memory table of username to {@link TokenState}, consulted by
+ * JwtAuthenticationFilter on every request. Misses are filled from
+ * {@link UserSnapshotCache}.
+ *
+ * Changes that revoke tokens (password change, ban, suspension) bump the
+ * user's tokenVersion and call {@link #update(User)}. The new state is written
+ * locally and pushed to the other nodes over Redis pub/sub, so they do not have
+ * to reload it. A state only replaces one with the same or a lower
+ * tokenVersion, so a concurrent load of the old row cannot undo a revocation.
+ */
+@Service
+public class TokenRevocationRegistry implements MessageListener {
+
+    private static final String CHANNEL = "auth:token-state";
+
+    private final UserSnapshotCache userSnapshotCache;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenState> states;
+
+    public TokenRevocationRegistry(
+            UserSnapshotCache userSnapshotCache,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            JwtProperties jwtProperties,
+            RedisMessageListenerContainer listenerContainer) {
+        this.userSnapshotCache = userSnapshotCache;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getRevocationCacheSize())
+                .expireAfterWrite(jwtProperties.getRevocationCacheTtl())
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * @return the current state, or null when the user no longer exists
+     */
+    public TokenState get(String username) {
+        return states.get(username, name -> userSnapshotCache.getByUsername(name).map(TokenState::of).orElse(null));
+    }
+
+    /**
+     * Publishes the user's token state once the surrounding transaction
+     * commits.
+     */
+    public void update(User user) {
+        publishAfterCommit(new StateChange(user.getUsername(), TokenState.of(user)));
+    }
+
+    /**
+     * Forgets a username, e.g. after the account was renamed on deletion.
+     * Tokens issued for it stop working because the user can no longer be found.
+     */
+    public void remove(String username) {
+        publishAfterCommit(new StateChange(username, null));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            apply(objectMapper.readValue(message.getBody(), StateChange.class));
+        } catch (IOException e) {
+            System.err.println("Ignoring malformed token state message: " + e.getMessage());
+        }
+    }
+
+    private void publishAfterCommit(StateChange change) {
+        Runnable publish = () -> {
+            apply(change);
+            try {
+                redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(change));
+            } catch (DataAccessException | JsonProcessingException e) {
+                System.err.println("Could not replicate token state for " + change.username() + ": " + e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private void apply(StateChange change) {
+        if (change.state() != null) {
+            states.asMap().merge(change.username(), change.state(),
+                    (cached, next) -> next.tokenVersion() >= cached.tokenVersion() ? next : cached);
+        } else {
+            states.invalidate(change.username());
+        }
+    }
+
+    record StateChange(String username, TokenState state) {
+    }
+}
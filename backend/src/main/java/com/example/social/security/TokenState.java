@@ -0,0 +1,32 @@
+package com.example.social.security;
+
+import com.example.social.user.User;
+import com.example.social.user.UserSnapshot;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * The per-user fields that decide whether a signed token is still accepted.
+ */
+public record TokenState(
+        Long userId,
+        int tokenVersion,
+        boolean banned,
+        LocalDateTime bannedUntil,
+        String role) {
+
+    public static TokenState of(User user) {
+        return new TokenState(user.getId(), user.getTokenVersion(), user.isBanned(), user.getBannedUntil(),
+                user.getRole());
+    }
+
+    public static TokenState of(UserSnapshot user) {
+        return new TokenState(user.id(), user.tokenVersion(), user.banned(), user.bannedUntil(), user.role());
+    }
+
+    @JsonIgnore
+    public boolean isSuspended() {
+        return bannedUntil != null && bannedUntil.isAfter(LocalDateTime.now());
+    }
+}
@@ -20,6 +20,10 @@ public class Story {
     @Column(nullable = false)
     private String imageUrl;
 
+    // Widths of the generated ImageVariants; written by ImageDerivativeService
+    @Column(name = "variant_widths", insertable = false, updatable = false)
+    private String variantWidths;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -77,6 +81,10 @@ public class Story {
         this.imageUrl = imageUrl;
     }
 
+    public String getVariantWidths() {
+        return variantWidths;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -10,6 +10,8 @@ import java.time.LocalDateTime;
 public class StoryResponse {
     private Long id;
     private String imageUrl;
+    // Null until the image's variants have been generated
+    private com.example.social.file.ImageVariantUrls imageVariants;
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
     private Long userId;
@@ -44,6 +46,8 @@ public class StoryResponse {
         return StoryResponse.builder()
                 .id(story.getId())
                 .imageUrl(story.getImageUrl())
+                .imageVariants(com.example.social.file.ImageVariantUrls.of(story.getImageUrl(),
+                        story.getVariantWidths()))
                 .createdAt(story.getCreatedAt())
                 .expiresAt(story.getExpiresAt())
                 .userId(user.getId())
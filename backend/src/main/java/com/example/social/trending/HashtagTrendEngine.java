@@ -0,0 +1,380 @@
+package com.example.social.trending;
+
+import com.example.social.post.HashtagsChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming hashtag trends. Each tag has a ring of per-bucket use counts
+ * covering the trending window, fed by {@link HashtagsChangedEvent}s instead
+ * of a GROUP BY per request.
+ *
+ * A tag's score is its exponentially decayed volume plus a velocity term: the
+ * uses in the last {@code velocitySpan} above the tag's usual rate over the
+ * rest of the window, so a sudden burst outranks a steadily popular tag. The
+ * top K is updated as each change arrives and fully recomputed on a periodic
+ * tick, since decay moves every score. Reads return an immutable, precomputed
+ * list.
+ *
+ * Replicas exchange their local changes over Redis pub/sub each tick and
+ * publish the ranking to Redis, which a starting replica serves until it has
+ * rebuilt its counters from the database.
+ */
+@Service
+public class HashtagTrendEngine implements MessageListener {
+
+    private static final String DELTA_CHANNEL = "trending:hashtags:deltas";
+    private static final String SNAPSHOT_KEY = "trending:hashtags:top";
+
+    private final TrendingProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    // Zone-less like posts.created_at; replaced in tests to move time by hand
+    private final Clock clock;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final long bucketSeconds;
+    private final int bucketCount;
+    private final int velocityBuckets;
+    // Weight of a bucket's count by its age in buckets
+    private final double[] decay;
+
+    private final ConcurrentHashMap<String, TagCounter> counters = new ConcurrentHashMap<>();
+    // Local changes not yet sent to other replicas: bucket -> tag -> delta
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, Integer>> pendingDeltas = new ConcurrentHashMap<>();
+
+    // Best first, at most topK entries
+    private final List<Ranked> ranking = new ArrayList<>();
+    private volatile List<TrendingTopicDTO> top = List.of();
+
+    @Autowired
+    public HashtagTrendEngine(
+            TrendingProperties properties,
+            JdbcTemplate jdbcTemplate,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            RedisMessageListenerContainer listenerContainer) {
+        this(properties, jdbcTemplate, redisTemplate, objectMapper, listenerContainer, Clock.systemDefaultZone());
+    }
+
+    HashtagTrendEngine(
+            TrendingProperties properties,
+            JdbcTemplate jdbcTemplate,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            RedisMessageListenerContainer listenerContainer,
+            Clock clock) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+
+        this.bucketSeconds = Math.max(1, properties.getBucketWidth().toSeconds());
+        this.bucketCount = (int) Math.max(2, properties.getWindow().toSeconds() / bucketSeconds);
+        this.velocityBuckets = (int) Math.min(bucketCount - 1,
+                Math.max(1, properties.getVelocitySpan().toSeconds() / bucketSeconds));
+        this.decay = new double[bucketCount];
+        double halfLifeBuckets = Math.max(1, properties.getHalfLife().toSeconds()) / (double) bucketSeconds;
+        for (int age = 0; age < bucketCount; age++) {
+            decay[age] = Math.pow(0.5, age / halfLifeBuckets);
+        }
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(DELTA_CHANNEL));
+    }
+
+    /**
+     * The current top tags, best first. Never blocks.
+     */
+    public List<TrendingTopicDTO> top() {
+        return top;
+    }
+
+    @TransactionalEventListener
+    public void onHashtagsChanged(HashtagsChangedEvent event) {
+        long bucket = bucketOf(event.postCreatedAt() != null ? event.postCreatedAt() : LocalDateTime.now(clock));
+        event.added().forEach(tag -> apply(tag, bucket, 1, true));
+        event.removed().forEach(tag -> apply(tag, bucket, -1, true));
+    }
+
+    /**
+     * Serves the ranking another replica published, then rebuilds the counters
+     * from posts in the window. Posts committed during the rebuild may be
+     * counted twice; the error is bounded by a few seconds of traffic and ages
+     * out of the window.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            String snapshot = redisTemplate.opsForValue().get(SNAPSHOT_KEY);
+            if (snapshot != null) {
+                top = List.copyOf(objectMapper.readValue(snapshot, new TypeReference<List<TrendingTopicDTO>>() {
+                }));
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            System.err.println("Could not read trending snapshot: " + e.getMessage());
+        }
+
+        try {
+            jdbcTemplate.query("""
+                    SELECT ph.hashtag, FLOOR(EXTRACT(EPOCH FROM p.created_at) / ?) AS bucket, COUNT(*) AS uses
+                    FROM post_hashtags ph
+                    JOIN posts p ON p.id = ph.post_id
+                    WHERE p.created_at >= ?
+                    GROUP BY 1, 2
+                    """,
+                    rs -> {
+                        apply(rs.getString(1), rs.getLong(2), rs.getInt(3), false);
+                    },
+                    bucketSeconds, LocalDateTime.now(clock).minus(properties.getWindow()));
+        } catch (DataAccessException e) {
+            System.err.println("Could not rebuild trending counters: " + e.getMessage());
+        }
+        tick();
+    }
+
+    /**
+     * Re-scores every tag, drops expired and excess tags, and shares this
+     * replica's changes and ranking through Redis.
+     */
+    @Scheduled(initialDelayString = "${app.trending.tick-interval-ms:60000}",
+            fixedDelayString = "${app.trending.tick-interval-ms:60000}")
+    public void tick() {
+        long now = currentBucket();
+        int k = Math.max(1, properties.getTopK());
+        PriorityQueue<Ranked> best = new PriorityQueue<>(Comparator.comparingDouble(Ranked::score));
+        List<Ranked> all = new ArrayList<>(counters.size());
+
+        for (String tag : counters.keySet()) {
+            counters.computeIfPresent(tag, (key, counter) -> {
+                Ranked ranked = counter.score(key, now);
+                if (counter.total <= 0) {
+                    return null;
+                }
+                all.add(ranked);
+                best.add(ranked);
+                if (best.size() > k) {
+                    best.poll();
+                }
+                return counter;
+            });
+        }
+
+        int excess = all.size() - properties.getMaxTags();
+        if (excess > 0) {
+            all.sort(Comparator.comparingDouble(Ranked::score));
+            for (Ranked ranked : all.subList(0, excess)) {
+                counters.remove(ranked.tag());
+            }
+        }
+
+        synchronized (ranking) {
+            ranking.clear();
+            ranking.addAll(best);
+            ranking.sort(Comparator.comparingDouble(Ranked::score).reversed());
+            publishRanking();
+        }
+
+        sendDeltas();
+        writeSnapshot();
+    }
+
+    // Changes from other replicas
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            DeltaMessage deltas = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), DeltaMessage.class);
+            if (nodeId.equals(deltas.node())) {
+                return;
+            }
+            deltas.deltas().forEach((bucket, tags) -> tags.forEach((tag, delta) -> apply(tag, bucket, delta, false)));
+        } catch (JsonProcessingException e) {
+            System.err.println("Ignoring malformed trending delta: " + e.getMessage());
+        }
+    }
+
+    private void apply(String rawTag, long bucket, int delta, boolean share) {
+        if (rawTag == null || rawTag.isBlank() || delta == 0) {
+            return;
+        }
+        String tag = rawTag.toLowerCase(Locale.ROOT);
+        long now = currentBucket();
+        if (bucket <= now - bucketCount) {
+            return;
+        }
+        long at = Math.min(bucket, now);
+
+        Ranked[] updated = new Ranked[1];
+        counters.compute(tag, (key, counter) -> {
+            if (counter == null) {
+                if (delta < 0) {
+                    return null;
+                }
+                counter = new TagCounter(bucketCount);
+            }
+            counter.add(at, delta, now);
+            updated[0] = counter.score(key, now);
+            return counter;
+        });
+
+        if (share) {
+            pendingDeltas.computeIfAbsent(at, b -> new ConcurrentHashMap<>()).merge(tag, delta, Integer::sum);
+        }
+        if (updated[0] != null) {
+            offer(updated[0]);
+        }
+    }
+
+    // Incremental top-K update for one changed tag
+    private void offer(Ranked candidate) {
+        int k = Math.max(1, properties.getTopK());
+        synchronized (ranking) {
+            boolean changed = ranking.removeIf(ranked -> ranked.tag().equals(candidate.tag()));
+            if (candidate.volume() > 0
+                    && (ranking.size() < k || candidate.score() > ranking.get(ranking.size() - 1).score())) {
+                int at = 0;
+                while (at < ranking.size() && ranking.get(at).score() >= candidate.score()) {
+                    at++;
+                }
+                ranking.add(at, candidate);
+                if (ranking.size() > k) {
+                    ranking.remove(ranking.size() - 1);
+                }
+                changed = true;
+            }
+            if (changed) {
+                publishRanking();
+            }
+        }
+    }
+
+    // Called with the ranking lock held
+    private void publishRanking() {
+        top = ranking.stream()
+                .map(ranked -> new TrendingTopicDTO(ranked.tag(), ranked.volume()))
+                .toList();
+    }
+
+    private void sendDeltas() {
+        Map<Long, Map<String, Integer>> deltas = new HashMap<>();
+        for (Long bucket : pendingDeltas.keySet()) {
+            Map<String, Integer> tags = pendingDeltas.remove(bucket);
+            if (tags != null && !tags.isEmpty()) {
+                deltas.put(bucket, tags);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(DELTA_CHANNEL, objectMapper.writeValueAsString(new DeltaMessage(nodeId, deltas)));
+        } catch (DataAccessException | JsonProcessingException e) {
+            System.err.println("Could not share trending changes: " + e.getMessage());
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            redisTemplate.opsForValue().set(SNAPSHOT_KEY, objectMapper.writeValueAsString(top),
+                    properties.getSnapshotTtl());
+        } catch (DataAccessException | JsonProcessingException e) {
+            System.err.println("Could not publish trending snapshot: " + e.getMessage());
+        }
+    }
+
+    private long currentBucket() {
+        return bucketOf(LocalDateTime.now(clock));
+    }
+
+    // created_at is a zone-less timestamp; treating it as UTC matches
+    // EXTRACT(EPOCH ...) in the rebuild query
+    private long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    record DeltaMessage(String node, Map<Long, Map<String, Integer>> deltas) {
+    }
+
+    private record Ranked(String tag, double score, long volume) {
+    }
+
+    /**
+     * Ring of per-bucket counts; only touched inside the map's compute, which
+     * serializes access per tag.
+     */
+    private final class TagCounter {
+
+        private final int[] buckets;
+        // Newest bucket the ring holds; older slots hold the preceding buckets
+        private long head = Long.MIN_VALUE;
+        private long total;
+
+        TagCounter(int size) {
+            this.buckets = new int[size];
+        }
+
+        void add(long bucket, int delta, long now) {
+            advance(now);
+            int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+            int updated = Math.max(0, buckets[slot] + delta);
+            total += updated - buckets[slot];
+            buckets[slot] = updated;
+        }
+
+        Ranked score(String tag, long now) {
+            advance(now);
+            double decayed = 0;
+            long recent = 0;
+            for (int age = 0; age < buckets.length; age++) {
+                int count = buckets[(int) Math.floorMod(now - age, (long) buckets.length)];
+                decayed += count * decay[age];
+                if (age < velocityBuckets) {
+                    recent += count;
+                }
+            }
+            double usualRate = (total - recent) / (double) (buckets.length - velocityBuckets);
+            double burst = Math.max(0, recent - usualRate * velocityBuckets);
+            return new Ranked(tag, decayed + properties.getVelocityWeight() * burst, total);
+        }
+
+        // Clears the slots of buckets that left the window since the last update
+        private void advance(long now) {
+            if (head == Long.MIN_VALUE) {
+                head = now;
+                return;
+            }
+            long steps = Math.min(now - head, buckets.length);
+            for (long step = 1; step <= steps; step++) {
+                int slot = (int) Math.floorMod(head + step, (long) buckets.length);
+                total -= buckets[slot];
+                buckets[slot] = 0;
+            }
+            if (now > head) {
+                head = now;
+            }
+        }
+    }
+}
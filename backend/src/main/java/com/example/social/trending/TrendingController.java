@@ -1,6 +1,5 @@
 package com.example.social.trending;
 
-import com.example.social.post.PostService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,14 +10,14 @@ import java.util.List;
 @RequestMapping("/api/trending")
 public class TrendingController {
 
-    private final PostService postService;
+    private final HashtagTrendEngine trendEngine;
 
-    public TrendingController(PostService postService) {
-        this.postService = postService;
+    public TrendingController(HashtagTrendEngine trendEngine) {
+        this.trendEngine = trendEngine;
     }
 
     @GetMapping
     public List<TrendingTopicDTO> getTrendingTopics() {
-        return postService.getTrendingHashtags();
+        return trendEngine.top();
     }
 }
@@ -0,0 +1,99 @@
+package com.example.social.trending;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingProperties {
+
+    // Width of one counter bucket, the resolution of the window and of decay
+    private Duration bucketWidth = Duration.ofMinutes(15);
+
+    // Posts older than this no longer count
+    private Duration window = Duration.ofHours(48);
+
+    // Age at which a use of a tag counts half as much as a new one
+    private Duration halfLife = Duration.ofHours(6);
+
+    // Span compared against the rest of the window to measure acceleration
+    private Duration velocitySpan = Duration.ofHours(1);
+
+    // Weight of uses above the tag's usual rate, relative to the decayed volume
+    private double velocityWeight = 2.0;
+
+    // Tags served by /api/trending
+    private int topK = 10;
+
+    // Tags tracked in memory; the lowest scoring are dropped beyond this
+    private int maxTags = 20000;
+
+    // How long other replicas may serve a published ranking
+    private Duration snapshotTtl = Duration.ofMinutes(30);
+
+    public Duration getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public void setBucketWidth(Duration bucketWidth) {
+        this.bucketWidth = bucketWidth;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public void setHalfLife(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    public Duration getVelocitySpan() {
+        return velocitySpan;
+    }
+
+    public void setVelocitySpan(Duration velocitySpan) {
+        this.velocitySpan = velocitySpan;
+    }
+
+    public double getVelocityWeight() {
+        return velocityWeight;
+    }
+
+    public void setVelocityWeight(double velocityWeight) {
+        this.velocityWeight = velocityWeight;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public int getMaxTags() {
+        return maxTags;
+    }
+
+    public void setMaxTags(int maxTags) {
+        this.maxTags = maxTags;
+    }
+
+    public Duration getSnapshotTtl() {
+        return snapshotTtl;
+    }
+
+    public void setSnapshotTtl(Duration snapshotTtl) {
+        this.snapshotTtl = snapshotTtl;
+    }
+}
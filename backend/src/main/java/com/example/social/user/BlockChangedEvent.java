@@ -0,0 +1,7 @@
+package com.example.social.user;
+
+/**
+ * Published when a user blocks ({@code blocking} true) or unblocks another.
+ */
+public record BlockChangedEvent(Long blockerId, Long blockedId, boolean blocking) {
+}
@@ -1,10 +1,17 @@
 package com.example.social.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface BlockRepository extends JpaRepository<Block, Long> {
 
     boolean existsByBlockerAndBlocked(User blocker, User blocked);
 
     void deleteByBlockerAndBlocked(User blocker, User blocked);
+
+    @Query("SELECT b.blocked.id FROM Block b WHERE b.blocker.id = :blockerId")
+    List<Long> findBlockedIds(@Param("blockerId") Long blockerId);
 }
@@ -32,6 +32,13 @@ public class User {
 
     private String bannerImage;
 
+    // Widths of the generated ImageVariants; written by ImageDerivativeService
+    @Column(insertable = false, updatable = false)
+    private String profileImageVariants;
+
+    @Column(insertable = false, updatable = false)
+    private String bannerImageVariants;
+
     @Column(length = 100)
     private String website;
 
@@ -117,6 +124,14 @@ public class User {
         return bannerImage;
     }
 
+    public String getProfileImageVariants() {
+        return profileImageVariants;
+    }
+
+    public String getBannerImageVariants() {
+        return bannerImageVariants;
+    }
+
     public String getWebsite() {
         return website;
     }
@@ -0,0 +1,56 @@
+package com.example.social.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.user-cache")
+public class UserCacheProperties {
+
+    // Entries per in-process cache (by username and by id)
+    private long localMaxSize = 10000;
+
+    // Bounds staleness on a node that missed an invalidation message
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    private Duration redisTtl = Duration.ofMinutes(10);
+
+    // An eviction is repeated after this delay, dropping a pre-commit snapshot
+    // that a concurrent reader wrote back after the first eviction. Longer than
+    // a database read plus a Redis write.
+    private Duration evictionRepeatDelay = Duration.ofSeconds(2);
+
+    public long getLocalMaxSize() {
+        return localMaxSize;
+    }
+
+    public void setLocalMaxSize(long localMaxSize) {
+        this.localMaxSize = localMaxSize;
+    }
+
+    public Duration getLocalTtl() {
+        return localTtl;
+    }
+
+    public void setLocalTtl(Duration localTtl) {
+        this.localTtl = localTtl;
+    }
+
+    public Duration getRedisTtl() {
+        return redisTtl;
+    }
+
+    public void setRedisTtl(Duration redisTtl) {
+        this.redisTtl = redisTtl;
+    }
+
+    public Duration getEvictionRepeatDelay() {
+        return evictionRepeatDelay;
+    }
+
+    public void setEvictionRepeatDelay(Duration evictionRepeatDelay) {
+        this.evictionRepeatDelay = evictionRepeatDelay;
+    }
+}
@@ -94,6 +94,15 @@ public class UserController {
         userService.verifyUser(username);
     }
 
+    @GetMapping("/typeahead")
+    @Operation(summary = "Suggest users", description = "Username prefix suggestions for mentions and search-as-you-type")
+    public java.util.List<com.example.social.user.dto.UserTypeaheadResponse> typeahead(
+            @Parameter(description = "Username prefix, optionally starting with @") @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication auth) {
+        return userService.suggestUsers(auth.getName(), q, limit);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search users", description = "Search users by username")
     public java.util.List<com.example.social.user.dto.UserSearchResponse> search(
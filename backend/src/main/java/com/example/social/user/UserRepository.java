@@ -1,7 +1,11 @@
 package com.example.social.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.*;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -10,10 +14,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    List<User> findByUsernameIn(Collection<String> usernames);
+
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
 
     Page<User> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
 
+    // Local user search over the trigram index (V121): prefix matches first,
+    // then close misspellings. prefix is the lower-cased query with LIKE
+    // wildcards escaped; term is the lower-cased query
+    @Query(value = """
+            SELECT u.* FROM users u
+            WHERE lower(u.username) LIKE :prefix || '%' OR lower(u.username) % :term
+            ORDER BY lower(u.username) LIKE :prefix || '%' DESC,
+                     similarity(lower(u.username), :term) DESC,
+                     u.id
+            """, countQuery = """
+            SELECT COUNT(*) FROM users u
+            WHERE lower(u.username) LIKE :prefix || '%' OR lower(u.username) % :term
+            """, nativeQuery = true)
+    Page<User> searchByUsername(@Param("prefix") String prefix, @Param("term") String term, Pageable pageable);
+
 }
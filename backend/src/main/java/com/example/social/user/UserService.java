@@ -23,8 +23,13 @@ public class UserService {
     private final UserInterestRepository userInterestRepository;
     private final com.example.social.activity.ActivityLogService activityLogService;
     private final com.example.social.search.UserSyncService userSyncService;
-    // private final com.example.social.search.UserSearchRepository
-    // userSearchRepository;
+    private final com.example.social.feed.TimelineService timelineService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final com.example.social.security.TokenRevocationRegistry tokenRevocationRegistry;
+    private final com.example.social.search.UserSearchService userSearchService;
+    private final com.example.social.search.UsernameTypeahead usernameTypeahead;
+    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final com.example.social.graph.SocialGraphService socialGraph;
 
     public UserService(
             UserRepository userRepository,
@@ -35,9 +40,14 @@ public class UserService {
             BlockRepository blockRepository,
             UserInterestRepository userInterestRepository,
             com.example.social.activity.ActivityLogService activityLogService,
-            com.example.social.search.UserSyncService userSyncService
-    // com.example.social.search.UserSearchRepository userSearchRepository
-    ) {
+            com.example.social.search.UserSyncService userSyncService,
+            com.example.social.feed.TimelineService timelineService,
+            UserSnapshotCache userSnapshotCache,
+            com.example.social.security.TokenRevocationRegistry tokenRevocationRegistry,
+            com.example.social.search.UserSearchService userSearchService,
+            com.example.social.search.UsernameTypeahead usernameTypeahead,
+            org.springframework.context.ApplicationEventPublisher eventPublisher,
+            com.example.social.graph.SocialGraphService socialGraph) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.fileStorageService = fileStorageService;
@@ -47,7 +57,13 @@ public class UserService {
         this.userInterestRepository = userInterestRepository;
         this.activityLogService = activityLogService;
         this.userSyncService = userSyncService;
-        // this.userSearchRepository = userSearchRepository;
+        this.timelineService = timelineService;
+        this.userSnapshotCache = userSnapshotCache;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userSearchService = userSearchService;
+        this.usernameTypeahead = usernameTypeahead;
+        this.eventPublisher = eventPublisher;
+        this.socialGraph = socialGraph;
     }
 
     public void toggleBlock(String me, String targetUsername) {
@@ -60,19 +76,27 @@ public class UserService {
 
         if (blockRepository.existsByBlockerAndBlocked(blocker, blocked)) {
             blockRepository.deleteByBlockerAndBlocked(blocker, blocked);
+            eventPublisher.publishEvent(new BlockChangedEvent(blocker.getId(), blocked.getId(), false));
         } else {
             // Unfollow if blocking
             if (followRepository.existsByFollowerAndFollowing(blocker, blocked)) {
                 followRepository.deleteByFollowerAndFollowing(blocker, blocked);
+                eventPublisher.publishEvent(new com.example.social.follow.FollowChangedEvent(
+                        blocker.getId(), blocked.getId(), false));
             }
             if (followRepository.existsByFollowerAndFollowing(blocked, blocker)) {
                 followRepository.deleteByFollowerAndFollowing(blocked, blocker);
+                eventPublisher.publishEvent(new com.example.social.follow.FollowChangedEvent(
+                        blocked.getId(), blocker.getId(), false));
             }
 
             Block b = new Block();
             b.setBlocker(blocker);
             b.setBlocked(blocked);
             blockRepository.save(b);
+            eventPublisher.publishEvent(new BlockChangedEvent(blocker.getId(), blocked.getId(), true));
+            timelineService.invalidateAfterCommit(blocker.getId());
+            timelineService.invalidateAfterCommit(blocked.getId());
             activityLogService.logActivity(blocker.getId(), blocker.getUsername(), "BLOCK_USER",
                     "Blocked user: " + targetUsername, null);
         }
@@ -83,6 +107,8 @@ public class UserService {
     @Transactional
     public void deleteAccount(String username) {
         User user = getUserByUsername(username);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.remove(user.getUsername());
 
         // Soft delete / anonymize user to preserve referential integrity
         user.setUsername("deleted_" + user.getId() + "_" + java.util.UUID.randomUUID().toString().substring(0, 8));
@@ -99,12 +125,13 @@ public class UserService {
         // Also clean up tokens/active sessions by invalidating
         user.setTokenVersion(user.getTokenVersion() + 1);
 
-        // Remove from search index
-        // userSearchRepository.delete(user);
+        // Removes the user from the search index and from suggestions
+        userSyncService.syncUser(user);
+        eventPublisher.publishEvent(new UsernameChangedEvent(user.getId(), null));
     }
 
     @Transactional
-    @CacheEvict(value = "userProfiles", key = "#username")
+    @CacheEvict(value = "userProfiles", allEntries = true)
     public User updateProfile(String username, String bio, MultipartFile avatar, MultipartFile banner, String website,
             List<String> interests) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
@@ -148,6 +175,7 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(user);
+        userSnapshotCache.evict(savedUser.getId(), savedUser.getUsername());
         userSyncService.syncUser(savedUser);
         activityLogService.logActivity(savedUser.getId(), savedUser.getUsername(), "UPDATE_PROFILE",
                 "Updated profile details", null);
@@ -164,12 +192,13 @@ public class UserService {
         return userRepository.findById(id);
     }
 
-    @Cacheable(value = "userProfiles", key = "#targetUsername")
+    // The response carries the viewer's follow state, so it is cached per viewer
+    @Cacheable(value = "userProfiles", key = "#viewerUsername + ':' + #targetUsername")
     public ProfileResponse getProfile(String viewerUsername, String targetUsername) {
         User me = getUserByUsername(viewerUsername);
         User target = getUserByUsername(targetUsername);
 
-        boolean following = followRepository.existsByFollowerAndFollowing(me, target);
+        boolean following = socialGraph.isFollowing(me.getId(), target.getId());
         long postCount = postRepository.countByAuthorId(target.getId());
         long followersCount = followRepository.countByFollowing(target);
         long followingCount = followRepository.countByFollower(target);
@@ -185,13 +214,19 @@ public class UserService {
                 postCount,
                 target.isPrivate(),
                 following,
-                target.isVerified());
+                target.isVerified(),
+                com.example.social.file.ImageVariantUrls.of(target.getProfileImageUrl(),
+                        target.getProfileImageVariants()),
+                com.example.social.file.ImageVariantUrls.of(target.getBannerImage(),
+                        target.getBannerImageVariants()));
     }
 
+    @Transactional
     public User togglePrivacy(String username) {
         User user = getUserByUsername(username);
         user.setPrivate(!user.isPrivate());
         User saved = userRepository.save(user);
+        userSnapshotCache.evict(saved.getId(), saved.getUsername());
         userSyncService.syncUser(saved);
         activityLogService.logActivity(saved.getId(), saved.getUsername(), "TOGGLE_PRIVACY",
                 "Changed privacy to: " + saved.isPrivate(), null);
@@ -215,6 +250,8 @@ public class UserService {
         user.setTokenVersion(user.getTokenVersion() + 1); // Invalidate
                                                           // tokens
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.update(user);
         activityLogService.logActivity(user.getId(), user.getUsername(), "CHANGE_PASSWORD",
                 "Password changed successfully", null);
     }
@@ -228,45 +265,32 @@ public class UserService {
     public void suspend(String username, int days) {
         User user = getUserByUsername(username);
         user.setBannedUntil(java.time.LocalDateTime.now().plusDays(days));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.update(user);
     }
 
-    public org.springframework.data.domain.Page<ProfileResponse> searchUsers(String query,
-            org.springframework.data.domain.Pageable pageable) {
-        // Elastic disabled for debugging
-        return org.springframework.data.domain.Page.empty(pageable);
-        /*
-         * return userSearchRepository.findByUsernameContaining(query, pageable)
-         * .map(doc -> new ProfileResponse(
-         * doc.getUsername(),
-         * doc.getBio(),
-         * doc.getProfileImageUrl(),
-         * 0L, 0L, 0L, // Counts are not needed for simple search result
-         * false, // Privacy unknown from ES doc unless we add it
-         * false, // Follow status unknown/irrelevant for simple search list
-         * doc.isVerified()));
-         */
+    public org.springframework.data.domain.Page<com.example.social.user.dto.UserSearchResponse> searchUsers(
+            String query, org.springframework.data.domain.Pageable pageable) {
+        return userSearchService.search(query, pageable);
     }
 
     public void unsuspend(String username) {
         User user = getUserByUsername(username);
         user.setBannedUntil(null);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
+        tokenRevocationRegistry.update(user);
+    }
+
+    public List<com.example.social.user.dto.UserTypeaheadResponse> suggestUsers(String me, String query, int limit) {
+        return usernameTypeahead.suggest(me, query, limit);
     }
 
-    @Transactional(readOnly = true)
     public List<com.example.social.user.dto.UserSearchResponse> searchUsers(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return List.of();
-        }
-        return userRepository
-                .findByUsernameContainingIgnoreCase(query, org.springframework.data.domain.PageRequest.of(0, 10))
-                .stream()
-                .map(u -> new com.example.social.user.dto.UserSearchResponse(
-                        u.getUsername(),
-                        u.getBio(),
-                        u.getProfileImageUrl()))
-                .collect(java.util.stream.Collectors.toList());
+        return userSearchService.search(query, org.springframework.data.domain.PageRequest.of(0, 10)).getContent();
     }
 
     @Transactional
@@ -274,6 +298,7 @@ public class UserService {
         User user = userRepository.findByUsername(username).orElseThrow();
         user.setVerified(true);
         userRepository.save(user);
+        userSnapshotCache.evict(user.getId(), user.getUsername());
         userSyncService.syncUser(user);
         activityLogService.logActivity(user.getId(), user.getUsername(), "VERIFY_USER", "User verified", null);
         System.out.println("VERIFICATION SUCCESS: User " + username + " is now verified.");
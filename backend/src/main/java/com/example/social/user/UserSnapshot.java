@@ -0,0 +1,40 @@
+package com.example.social.user;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the user fields needed on every request (authentication,
+ * ids for queries, author display). Cached by {@link UserSnapshotCache}; use the
+ * {@link User} entity when a managed instance is needed.
+ */
+public record UserSnapshot(
+        Long id,
+        String username,
+        String role,
+        int tokenVersion,
+        boolean banned,
+        LocalDateTime bannedUntil,
+        boolean verified,
+        boolean privateAccount,
+        String profileImageUrl) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getUsername(),
+                user.getRole(),
+                user.getTokenVersion(),
+                user.isBanned(),
+                user.getBannedUntil(),
+                user.isVerified(),
+                user.isPrivate(),
+                user.getProfileImageUrl());
+    }
+
+    @JsonIgnore
+    public boolean isSuspended() {
+        return bannedUntil != null && bannedUntil.isAfter(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.social.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-tier cache of {@link UserSnapshot}s by username and by id: a bounded
+ * in-process cache in front of Redis, in front of the database.
+ *
+ * Any code that changes a cached field must call {@link #evict(Long, String)}.
+ * The eviction runs after commit and is broadcast over Redis pub/sub so that
+ * every node drops its local copy. It runs again after
+ * {@code app.user-cache.eviction-repeat-delay}: a reader that loaded the row
+ * before the commit may write its snapshot back after the first eviction, and
+ * ban and verified state must not stay stale for the Redis TTL.
+ */
+@Service
+public class UserSnapshotCache implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "user-cache:invalidate";
+    private static final String BY_USERNAME_KEY = "user:snapshot:name:";
+    private static final String BY_ID_KEY = "user:snapshot:id:";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserCacheProperties properties;
+    private final Cache<String, UserSnapshot> byUsername;
+    private final Cache<Long, UserSnapshot> byId;
+    private final ScheduledExecutorService repeatedEvictions = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "user-cache-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserSnapshotCache(
+            UserRepository userRepository,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            UserCacheProperties properties,
+            RedisMessageListenerContainer listenerContainer) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public Optional<UserSnapshot> getByUsername(String username) {
+        return Optional.ofNullable(byUsername.get(username, name -> {
+            UserSnapshot snapshot = load(BY_USERNAME_KEY + name, () -> userRepository.findByUsername(name));
+            if (snapshot != null) {
+                byId.put(snapshot.id(), snapshot);
+            }
+            return snapshot;
+        }));
+    }
+
+    public Optional<UserSnapshot> getById(Long id) {
+        return Optional.ofNullable(byId.get(id, key -> {
+            UserSnapshot snapshot = load(BY_ID_KEY + key, () -> userRepository.findById(key));
+            if (snapshot != null) {
+                byUsername.put(snapshot.username(), snapshot);
+            }
+            return snapshot;
+        }));
+    }
+
+    /**
+     * Drops the user from every tier once the surrounding transaction commits.
+     * Pass the username the user had before the change when it is renamed.
+     */
+    public void evict(Long id, String username) {
+        Runnable evict = () -> {
+            drop(id, username);
+            repeatedEvictions.schedule(() -> drop(id, username),
+                    properties.getEvictionRepeatDelay().toMillis(), TimeUnit.MILLISECONDS);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        repeatedEvictions.shutdownNow();
+    }
+
+    private void drop(Long id, String username) {
+        byId.invalidate(id);
+        byUsername.invalidate(username);
+        try {
+            redisTemplate.delete(java.util.List.of(BY_ID_KEY + id, BY_USERNAME_KEY + username));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id + "|" + username);
+        } catch (DataAccessException e) {
+            System.err.println("Could not invalidate cached user " + username + ": " + e.getMessage());
+        }
+    }
+
+    // Invalidation broadcast from any node, including this one
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf('|');
+        if (sep < 0) {
+            return;
+        }
+        byId.invalidate(Long.valueOf(body.substring(0, sep)));
+        byUsername.invalidate(body.substring(sep + 1));
+    }
+
+    // Runs inside the local cache's compute, so it must not write to the cache being loaded
+    private UserSnapshot load(String redisKey, java.util.function.Supplier<Optional<User>> database) {
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            if (json != null) {
+                return objectMapper.readValue(json, UserSnapshot.class);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            System.err.println("User cache read failed for " + redisKey + ": " + e.getMessage());
+        }
+
+        UserSnapshot snapshot = database.get().map(UserSnapshot::of).orElse(null);
+        if (snapshot != null) {
+            storeInRedis(snapshot);
+        }
+        return snapshot;
+    }
+
+    private void storeInRedis(UserSnapshot snapshot) {
+        try {
+            String json = objectMapper.writeValueAsString(snapshot);
+            redisTemplate.opsForValue().set(BY_ID_KEY + snapshot.id(), json, properties.getRedisTtl());
+            redisTemplate.opsForValue().set(BY_USERNAME_KEY + snapshot.username(), json, properties.getRedisTtl());
+        } catch (DataAccessException | JsonProcessingException e) {
+            System.err.println("User cache write failed for " + snapshot.username() + ": " + e.getMessage());
+        }
+    }
+}
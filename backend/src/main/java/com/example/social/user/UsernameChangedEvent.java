@@ -0,0 +1,8 @@
+package com.example.social.user;
+
+/**
+ * Published when an account gets a username: on registration, and with
+ * {@code username} null when the account is deleted (anonymized).
+ */
+public record UsernameChangedEvent(Long userId, String username) {
+}
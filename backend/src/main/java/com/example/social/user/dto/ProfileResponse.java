@@ -1,5 +1,7 @@
 package com.example.social.user.dto;
 
+import com.example.social.file.ImageVariantUrls;
+
 import java.io.Serializable;
 
 public record ProfileResponse(
@@ -13,5 +15,7 @@ public record ProfileResponse(
         long postCount,
         boolean isPrivate,
         boolean following,
-        boolean verified) implements Serializable {
+        boolean verified,
+        ImageVariantUrls profileImageVariants,
+        ImageVariantUrls bannerImageVariants) implements Serializable {
 }
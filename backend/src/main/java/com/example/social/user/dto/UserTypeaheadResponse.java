@@ -0,0 +1,9 @@
+package com.example.social.user.dto;
+
+public record UserTypeaheadResponse(
+        String username,
+        String profileImageUrl,
+        boolean verified,
+        int followers,
+        boolean following) {
+}
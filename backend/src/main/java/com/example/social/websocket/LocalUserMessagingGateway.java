@@ -0,0 +1,27 @@
+package com.example.social.websocket;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Hands messages straight to this node's broker. Enough for a single node and
+ * for relay mode, where the external broker does the fan-out, and usable as a
+ * stand-in in tests.
+ */
+public class LocalUserMessagingGateway implements UserMessagingGateway {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public LocalUserMessagingGateway(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void sendToUser(String username, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(username, destination, payload);
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
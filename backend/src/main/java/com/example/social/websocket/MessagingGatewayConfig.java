@@ -0,0 +1,31 @@
+package com.example.social.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+@Configuration
+public class MessagingGatewayConfig {
+
+    @Bean
+    public UserMessagingGateway userMessagingGateway(
+            WebSocketProperties properties,
+            SimpMessagingTemplate messagingTemplate,
+            SimpUserRegistry userRegistry,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            RedisMessageListenerContainer listenerContainer) {
+        if (properties.getBrokerMode() == WebSocketProperties.BrokerMode.REDIS) {
+            RedisUserMessagingGateway gateway = new RedisUserMessagingGateway(
+                    redisTemplate, messagingTemplate, userRegistry, objectMapper);
+            listenerContainer.addMessageListener(gateway, new ChannelTopic(RedisUserMessagingGateway.CHANNEL));
+            return gateway;
+        }
+        return new LocalUserMessagingGateway(messagingTemplate);
+    }
+}
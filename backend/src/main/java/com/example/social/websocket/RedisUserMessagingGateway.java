@@ -0,0 +1,84 @@
+package com.example.social.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.io.IOException;
+
+/**
+ * Publishes every message on one Redis channel; each node delivers it to the
+ * matching sessions on its own simple broker. User messages are dropped early
+ * on nodes where the user has no session, using the local SimpUserRegistry.
+ */
+public class RedisUserMessagingGateway implements UserMessagingGateway, MessageListener {
+
+    static final String CHANNEL = "ws:outbound";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ObjectMapper objectMapper;
+
+    public RedisUserMessagingGateway(
+            StringRedisTemplate redisTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            SimpUserRegistry userRegistry,
+            ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void sendToUser(String username, String destination, Object payload) {
+        publish(new Envelope(username, destination, objectMapper.valueToTree(payload)));
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        publish(new Envelope(null, destination, objectMapper.valueToTree(payload)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+        } catch (IOException e) {
+            System.err.println("Ignoring malformed WebSocket envelope: " + e.getMessage());
+            return;
+        }
+
+        if (envelope.username() != null && userRegistry.getUser(envelope.username()) == null) {
+            return;
+        }
+        deliverLocally(envelope);
+    }
+
+    private void publish(Envelope envelope) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // Still reach users connected to this node
+            System.err.println("WebSocket fan-out failed, delivering locally: " + e.getMessage());
+            deliverLocally(envelope);
+        }
+    }
+
+    private void deliverLocally(Envelope envelope) {
+        if (envelope.username() == null) {
+            messagingTemplate.convertAndSend(envelope.destination(), envelope.payload());
+        } else {
+            messagingTemplate.convertAndSendToUser(envelope.username(), envelope.destination(), envelope.payload());
+        }
+    }
+
+    record Envelope(String username, String destination, JsonNode payload) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.social.websocket;
+
+/**
+ * Sends STOMP messages to users and topics regardless of which node holds the
+ * subscriber's connection. Use this instead of SimpMessagingTemplate for
+ * anything that originates outside a client's own session.
+ */
+public interface UserMessagingGateway {
+
+    /**
+     * Delivers to {@code /user/{username}{destination}} on every node.
+     */
+    void sendToUser(String username, String destination, Object payload);
+
+    /**
+     * Delivers to a broadcast destination such as {@code /topic/...} on every
+     * node.
+     */
+    void send(String destination, Object payload);
+}
@@ -11,11 +11,29 @@ import org.springframework.web.socket.config.annotation.*;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final AuthChannelInterceptor authChannelInterceptor;
+    private final WebSocketProperties properties;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory broker for both topic and queue
-        config.enableSimpleBroker("/topic", "/queue");
+        if (properties.getBrokerMode() == WebSocketProperties.BrokerMode.RELAY) {
+            WebSocketProperties.Relay relay = properties.getRelay();
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setVirtualHost(relay.getVirtualHost())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    // Share the user registry between nodes and forward user
+                    // messages that cannot be resolved locally
+                    .setUserRegistryBroadcast("/topic/simp-user-registry")
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination");
+        } else {
+            // Enable a simple in-memory broker for both topic and queue; in REDIS
+            // mode UserMessagingGateway fans messages out to the other nodes
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         // Application prefixes for messages bound for @MessageMapping-annotated methods
         config.setApplicationDestinationPrefixes("/app");
         // User destination prefix for private messaging
@@ -0,0 +1,104 @@
+package com.example.social.websocket;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketProperties {
+
+    public enum BrokerMode {
+        // In-memory broker; only users connected to this node are reachable
+        SIMPLE,
+        // In-memory broker per node, user and topic messages fanned out over Redis pub/sub
+        REDIS,
+        // External STOMP broker (RabbitMQ, ActiveMQ) shared by all nodes
+        RELAY
+    }
+
+    private BrokerMode brokerMode = BrokerMode.SIMPLE;
+
+    private Relay relay = new Relay();
+
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getVirtualHost() {
+            return virtualHost;
+        }
+
+        public void setVirtualHost(String virtualHost) {
+            this.virtualHost = virtualHost;
+        }
+
+        public String getClientLogin() {
+            return clientLogin;
+        }
+
+        public void setClientLogin(String clientLogin) {
+            this.clientLogin = clientLogin;
+        }
+
+        public String getClientPasscode() {
+            return clientPasscode;
+        }
+
+        public void setClientPasscode(String clientPasscode) {
+            this.clientPasscode = clientPasscode;
+        }
+
+        public String getSystemLogin() {
+            return systemLogin;
+        }
+
+        public void setSystemLogin(String systemLogin) {
+            this.systemLogin = systemLogin;
+        }
+
+        public String getSystemPasscode() {
+            return systemPasscode;
+        }
+
+        public void setSystemPasscode(String systemPasscode) {
+            this.systemPasscode = systemPasscode;
+        }
+    }
+
+    public BrokerMode getBrokerMode() {
+        return brokerMode;
+    }
+
+    public void setBrokerMode(BrokerMode brokerMode) {
+        this.brokerMode = brokerMode;
+    }
+
+    public Relay getRelay() {
+        return relay;
+    }
+
+    public void setRelay(Relay relay) {
+        this.relay = relay;
+    }
+}
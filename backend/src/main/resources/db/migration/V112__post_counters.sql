@@ -0,0 +1,11 @@
+-- Denormalized engagement counters on posts
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS share_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE posts p SET
+    like_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id),
+    comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id);
+
+-- share_count is filled by PostCounterReconciler on its first pass; shared_post_id
+-- is created by Hibernate after migrations run
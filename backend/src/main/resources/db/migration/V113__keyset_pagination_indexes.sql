@@ -0,0 +1,4 @@
+-- Composite indexes backing (created_at, id) keyset pagination
+CREATE INDEX IF NOT EXISTS idx_posts_created_id ON posts(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_post_created_id ON comments(post_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_messages_pair_created_id ON messages(sender_id, receiver_id, created_at DESC, id DESC);
@@ -0,0 +1,6 @@
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS actor_count INT NOT NULL DEFAULT 1;
+
+-- Lookup for folding new events into a recent unread notification
+CREATE INDEX IF NOT EXISTS idx_notifications_unread_target
+    ON notifications (user_id, type, reference_id, id DESC)
+    WHERE is_read = false;
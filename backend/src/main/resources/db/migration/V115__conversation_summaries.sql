@@ -0,0 +1,35 @@
+-- Per-user inbox rows for direct conversations, maintained on send and read
+CREATE TABLE IF NOT EXISTS conversation_summaries (
+    id BIGSERIAL PRIMARY KEY,
+    owner_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    other_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    last_message_id BIGINT NOT NULL,
+    last_message TEXT,
+    last_message_at TIMESTAMP NOT NULL,
+    unread_count INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_conversation_summaries_pair UNIQUE (owner_id, other_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_conversation_summaries_inbox
+    ON conversation_summaries (owner_id, last_message_at DESC, last_message_id DESC);
+
+-- Backfill from existing direct messages (chat_group_id is created by Hibernate,
+-- so group messages are recognised by a missing receiver instead)
+INSERT INTO conversation_summaries (owner_id, other_id, last_message_id, last_message, last_message_at, unread_count)
+SELECT DISTINCT ON (pair.owner_id, pair.other_id)
+       pair.owner_id,
+       pair.other_id,
+       pair.id,
+       LEFT(pair.content, 200),
+       COALESCE(pair.created_at, NOW()),
+       (SELECT COUNT(*) FROM messages u
+        WHERE u.receiver_id = pair.owner_id AND u.sender_id = pair.other_id AND u.is_read = false)
+FROM (
+    SELECT m.sender_id AS owner_id, m.receiver_id AS other_id, m.id, m.content, m.created_at
+    FROM messages m WHERE m.receiver_id IS NOT NULL
+    UNION ALL
+    SELECT m.receiver_id, m.sender_id, m.id, m.content, m.created_at
+    FROM messages m WHERE m.receiver_id IS NOT NULL
+) pair
+ORDER BY pair.owner_id, pair.other_id, pair.created_at DESC, pair.id DESC
+ON CONFLICT (owner_id, other_id) DO NOTHING;
@@ -0,0 +1,8 @@
+-- Content-addressed uploads: one file per distinct SHA-256, shared by reference
+CREATE TABLE IF NOT EXISTS media_blobs (
+    sha256 VARCHAR(64) PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL UNIQUE,
+    size BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
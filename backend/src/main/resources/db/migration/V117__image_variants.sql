@@ -0,0 +1,6 @@
+-- Comma-separated widths of the downscaled variants generated for each image,
+-- NULL until the derivative pipeline has processed it
+ALTER TABLE post_images ADD COLUMN IF NOT EXISTS variant_widths VARCHAR(64);
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS variant_widths VARCHAR(64);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS profile_image_variants VARCHAR(64);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS banner_image_variants VARCHAR(64);
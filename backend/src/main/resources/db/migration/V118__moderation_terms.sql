@@ -0,0 +1,18 @@
+-- Banned words and phrases for ContentModerationService, stored normalized
+-- (lower case, accents stripped, single spaces between words)
+CREATE TABLE IF NOT EXISTS moderation_terms (
+    id BIGSERIAL PRIMARY KEY,
+    term VARCHAR(255) NOT NULL UNIQUE,
+    created_by VARCHAR(255),
+    created_at TIMESTAMP DEFAULT NOW()
+);
+
+-- The list previously hardcoded in ContentModerationService
+INSERT INTO moderation_terms (term, created_by)
+VALUES ('badword', 'system'),
+       ('offensive', 'system'),
+       ('spam', 'system'),
+       ('scam', 'system'),
+       ('hate', 'system'),
+       ('violence', 'system')
+ON CONFLICT (term) DO NOTHING;
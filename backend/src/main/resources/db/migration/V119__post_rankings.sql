@@ -0,0 +1,9 @@
+-- Trending score per engaged recent post, recomputed by PostRankingJob
+CREATE TABLE IF NOT EXISTS post_rankings (
+    post_id BIGINT PRIMARY KEY REFERENCES posts(id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL,
+    computed_at TIMESTAMP NOT NULL
+);
+
+-- Serves the ranking in order, including keyset pages on (score, post_id)
+CREATE INDEX IF NOT EXISTS idx_post_rankings_score ON post_rankings (score DESC, post_id DESC);
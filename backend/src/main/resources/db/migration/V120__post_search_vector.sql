@@ -0,0 +1,12 @@
+-- Full-text search over posts, replacing LOWER(content) LIKE '%q%' scans.
+-- Hashtags are indexed twice: with weight A (extracted from the content, so
+-- ranking favours them and "#tag" queries can target them) and, like every
+-- other word, with weight B. The 'simple' configuration lower-cases without
+-- stemming, so prefix queries behave predictably in any language.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', regexp_replace(coalesce(content, ''), '#(\w+)|[^#]+|#', ' \1', 'g')), 'A')
+        || setweight(to_tsvector('simple', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector);
@@ -0,0 +1,19 @@
+-- Transactional outbox for the Elasticsearch user index. A row is written in
+-- the same transaction as the user change and drained by UserSearchIndexer;
+-- the indexer reads the user's current state, so a row only names the user.
+CREATE TABLE IF NOT EXISTS user_search_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT now(),
+    last_error VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_search_outbox_due ON user_search_outbox (next_attempt_at, id);
+
+-- Local user search when Elasticsearch is disabled or unreachable: prefix and
+-- similarity matches on the username
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING GIN (lower(username) gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Feed, search and trending queries exclude posts across blocks in both
+-- directions; unique_block covers blocker_id lookups, this covers blocked_id
+CREATE INDEX IF NOT EXISTS idx_blocks_blocked_blocker ON blocks (blocked_id, blocker_id);
@@ -0,0 +1,5 @@
+-- Follower and following lists page by follow id, newest first. unique_follow
+-- (follower_id, following_id) cannot serve that order, and nothing indexed
+-- following_id at all
+CREATE INDEX IF NOT EXISTS idx_follows_following_id ON follows (following_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_follows_follower_id ON follows (follower_id, id DESC);
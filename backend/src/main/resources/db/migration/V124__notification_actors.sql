@@ -0,0 +1,7 @@
+-- Distinct actors folded into a coalesced notification, so the same user
+-- acting twice is counted once in "alice and N others"
+CREATE TABLE IF NOT EXISTS notification_actors (
+    notification_id BIGINT NOT NULL REFERENCES notifications(id) ON DELETE CASCADE,
+    actor_username VARCHAR(50) NOT NULL,
+    PRIMARY KEY (notification_id, actor_username)
+);
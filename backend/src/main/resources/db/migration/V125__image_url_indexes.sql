@@ -0,0 +1,7 @@
+-- ImageDerivativeService records a file's variant widths by the URL it was
+-- stored under; without these each generated image scanned all four columns.
+-- Most users have no profile or banner image, so those indexes skip NULLs.
+CREATE INDEX IF NOT EXISTS idx_post_images_url ON post_images (url);
+CREATE INDEX IF NOT EXISTS idx_stories_image_url ON stories (image_url);
+CREATE INDEX IF NOT EXISTS idx_users_profile_image_url ON users (profile_image_url) WHERE profile_image_url IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_users_banner_image ON users (banner_image) WHERE banner_image IS NOT NULL;
@@ -16,7 +16,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// Profile changes reach Elasticsearch through the user search outbox
+@SpringBootTest(properties = "app.search.elasticsearch-enabled=true")
 public class FeatureIntegrationTest {
 
     @Autowired
@@ -0,0 +1,51 @@
+package com.example.social.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentTokenizerTest {
+
+    @Test
+    void extractsAllTokenKindsWithOffsets() {
+        String content = "Hi @alice, see https://x.io/a#frag for #java_21 and #java_21";
+        ContentTokenizer.ContentTokens tokens = ContentTokenizer.tokenize(content);
+
+        assertEquals(Set.of("alice"), tokens.mentions());
+        assertEquals(Set.of("java_21"), tokens.hashtags());
+        assertEquals(Optional.of("https://x.io/a#frag"), tokens.firstUrl());
+
+        ContentTokenizer.Token mention = tokens.tokens().get(0);
+        assertEquals("@alice", content.substring(mention.start(), mention.end()));
+        assertEquals(4, tokens.tokens().size());
+    }
+
+    @Test
+    void ignoresPrefixesInsideWords() {
+        ContentTokenizer.ContentTokens tokens = ContentTokenizer.tokenize("mail bob@example.com about C#, a#b");
+
+        assertTrue(tokens.mentions().isEmpty());
+        assertTrue(tokens.hashtags().isEmpty());
+    }
+
+    @Test
+    void trimsTrailingPunctuationFromLinks() {
+        assertEquals(Optional.of("www.github.com"),
+                ContentTokenizer.tokenize("Check this out www.github.com.").firstUrl());
+        assertEquals(Optional.of("https://x.io/a"),
+                ContentTokenizer.tokenize("(see https://x.io/a).").firstUrl());
+        assertEquals(Optional.of("https://en.wikipedia.org/wiki/Java_(language)"),
+                ContentTokenizer.tokenize("https://en.wikipedia.org/wiki/Java_(language)").firstUrl());
+        assertEquals(Optional.empty(), ContentTokenizer.tokenize("just https:// here").firstUrl());
+    }
+
+    @Test
+    void emptyContentHasNoTokens() {
+        assertEquals(List.of(), ContentTokenizer.tokenize(null).tokens());
+        assertEquals(List.of(), ContentTokenizer.tokenize("# @ plain text").tokens());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.social.file;
+
+import com.example.social.post.PostService;
+import com.example.social.user.User;
+import com.example.social.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.media.content-addressed=true")
+public class MediaBlobRollbackTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private com.example.social.search.UserSearchRepository userSearchRepository;
+
+    @MockBean
+    private com.example.social.activity.UserActivityLogRepository userActivityLogRepository;
+
+    @Test
+    public void rolledBackPostGivesItsImageReferenceBack() throws Exception {
+        User author = new User();
+        author.setUsername("blobAuthor" + System.nanoTime());
+        author.setPassword("password");
+        author.setEmail(author.getUsername() + "@test.com");
+        userRepository.save(author);
+
+        byte[] content = ("image " + UUID.randomUUID()).getBytes();
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        MockMultipartFile image = new MockMultipartFile("images", "photo.jpg", "image/jpeg", content);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            postService.createPost(author.getUsername(), "rolled back", List.of(image), null, null,
+                    null, null, null, null);
+            assertThat(refCount(sha256)).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(refCount(sha256)).isZero();
+    }
+
+    private int refCount(String sha256) {
+        Integer refs = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(ref_count), 0) FROM media_blobs WHERE sha256 = ?", Integer.class, sha256);
+        return refs == null ? 0 : refs;
+    }
+}
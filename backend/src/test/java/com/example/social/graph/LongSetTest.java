@@ -0,0 +1,38 @@
+package com.example.social.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongSetTest {
+
+    @Test
+    void containsExactlyTheGivenValues() {
+        Random random = new Random(3);
+        for (int run = 0; run < 200; run++) {
+            List<Long> values = new ArrayList<>();
+            for (int i = random.nextInt(100); i > 0; i--) {
+                values.add((long) random.nextInt(300) - 20);
+            }
+            Set<Long> expected = new HashSet<>(values);
+            LongSet set = LongSet.of(values);
+
+            assertEquals(expected.size(), set.size());
+            for (long probe = -25; probe < 300; probe++) {
+                assertEquals(expected.contains(probe), set.contains(probe), "probe " + probe);
+            }
+            Set<Long> iterated = new HashSet<>();
+            set.forEach(iterated::add);
+            assertEquals(expected, iterated);
+        }
+    }
+
+    @Test
+    void emptySetContainsNothing() {
+        assertTrue(LongSet.of(List.of()).isEmpty());
+        assertFalse(LongSet.empty().contains(0));
+        assertFalse(LongSet.empty().contains(42));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.social.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermMatcherTest {
+
+    private final TermMatcher matcher = TermMatcher.compile(
+            List.of("hate", "spam", "buy followers", "he", "hers", "Café"));
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertTrue(matcher.matches("I hate this"));
+        assertTrue(matcher.matches("spam!"));
+        assertFalse(matcher.matches("whatever"));
+        assertFalse(matcher.matches("spammer"));
+        assertFalse(matcher.matches("ushers"));
+    }
+
+    @Test
+    void findsTermsSharingSuffixesAndPrefixes() {
+        assertTrue(matcher.matches("is it hers"));
+        assertTrue(matcher.matches("he said"));
+        assertFalse(matcher.matches("her"));
+    }
+
+    @Test
+    void normalizesCaseAccentsWidthAndSeparators() {
+        assertTrue(matcher.matches("I HATE this"));
+        assertTrue(matcher.matches("hàte"));
+        assertTrue(matcher.matches("ｈａｔｅ"));
+        assertTrue(matcher.matches("CAFE time"));
+        assertTrue(matcher.matches("Buy   followers now"));
+        assertTrue(matcher.matches("buy-followers"));
+        assertFalse(matcher.matches("buyfollowers"));
+    }
+
+    @Test
+    void emptyInputsNeverMatch() {
+        assertFalse(matcher.matches(null));
+        assertFalse(matcher.matches(""));
+        assertFalse(TermMatcher.empty().matches("hate"));
+    }
+
+    @Test
+    void normalizesTermsForStorage() {
+        assertEquals("buy followers", TermMatcher.normalizeTerm("  Buy -- Followers!! "));
+        assertEquals("", TermMatcher.normalizeTerm("!!!"));
+        assertEquals(2, TermMatcher.compile(List.of("Spam", "spam", " SPAM ", "scam")).size());
+    }
+
+    @Test
+    void rejectsTermsLongerThanTheBoundaryHistory() {
+        String tooLong = "a".repeat(TermMatcher.MAX_TERM_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> TermMatcher.compile(List.of(tooLong)));
+    }
+
+    @Test
+    void agreesWithNaiveWordSearch() {
+        Random random = new Random(42);
+        for (int run = 0; run < 5000; run++) {
+            List<String> terms = new ArrayList<>();
+            for (int t = random.nextInt(6) + 1; t > 0; t--) {
+                terms.add(randomText(random, "ab c", 1 + random.nextInt(5)));
+            }
+            String text = randomText(random, "ab c!", random.nextInt(20));
+
+            String words = " " + TermMatcher.normalizeTerm(text) + " ";
+            boolean expected = terms.stream()
+                    .map(TermMatcher::normalizeTerm)
+                    .anyMatch(term -> !term.isEmpty() && words.contains(" " + term + " "));
+
+            assertEquals(expected, TermMatcher.compile(terms).matches(text), terms + " in [" + text + "]");
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
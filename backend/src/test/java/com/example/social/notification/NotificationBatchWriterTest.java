@@ -0,0 +1,69 @@
+package com.example.social.notification;
+
+import com.example.social.user.User;
+import com.example.social.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class NotificationBatchWriterTest {
+
+    @Autowired
+    private NotificationBatchWriter writer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private com.example.social.search.UserSearchRepository userSearchRepository;
+
+    @MockBean
+    private com.example.social.activity.UserActivityLogRepository userActivityLogRepository;
+
+    @Test
+    public void countsRepeatedActorOnce() {
+        User recipient = new User();
+        recipient.setUsername("notifyRecipient" + System.nanoTime());
+        recipient.setPassword("password");
+        recipient.setEmail(recipient.getUsername() + "@test.com");
+        recipient = userRepository.save(recipient);
+        long postId = System.nanoTime();
+
+        // Twice in one batch, then again in a later batch (like, unlike, like)
+        writer.write(List.of(like(recipient, postId, "alice"), like(recipient, postId, "alice")));
+        writer.write(List.of(like(recipient, postId, "alice")));
+        assertThat(rows(recipient)).singleElement().satisfies(row -> {
+            assertThat(row.get("actor_count")).isEqualTo(1);
+            assertThat(row.get("message")).isEqualTo("alice liked your post");
+        });
+
+        writer.write(List.of(like(recipient, postId, "bob"), like(recipient, postId, "alice")));
+        assertThat(rows(recipient)).singleElement().satisfies(row -> {
+            assertThat(row.get("actor_count")).isEqualTo(2);
+            assertThat(row.get("message")).isEqualTo("alice and 1 other liked your post");
+        });
+
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", recipient.getId());
+    }
+
+    private static PendingNotification like(User recipient, long postId, String actor) {
+        return new PendingNotification(recipient.getId(), recipient.getUsername(), NotificationType.LIKE, postId,
+                actor, actor + " liked your post");
+    }
+
+    private List<Map<String, Object>> rows(User recipient) {
+        return jdbcTemplate.queryForList(
+                "SELECT actor_count, message FROM notifications WHERE user_id = ?", recipient.getId());
+    }
+}
@@ -1,37 +1,123 @@
 package com.example.social.post;
 
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class LinkPreviewServiceTest {
 
+    private static final String PAGE = """
+            <html><head>
+            <title>Fallback title</title>
+            <meta property="og:title" content="Stub title">
+            <meta name="description" content="Stub description">
+            <meta property="og:image" content="http://example.test/cover.png">
+            </head><body></body></html>
+            """;
+
+    private HttpServer server;
+    private final AtomicInteger pageHits = new AtomicInteger();
+    private final AtomicInteger missingHits = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", exchange -> {
+            pageHits.incrementAndGet();
+            byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            pageHits.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            missingHits.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
     @Test
     void testExtractLinkMetadata() {
         LinkPreviewService service = new LinkPreviewService();
-        // Use a known stable URL that likely has OG tags
-        String content = "Check this out https://github.com";
+        String content = "Check this out " + url("/page");
         LinkPreviewService.LinkMetadata metadata = service.extractLinkMetadata(content);
 
-        if (metadata == null) {
-            System.out.println("Metadata is null. Jsoup likely failed.");
-        } else {
-            System.out.println("Metadata extracted successfully:");
-            System.out.println("URL: " + metadata.url());
-            System.out.println("Title: " + metadata.title());
-            System.out.println("Description: " + metadata.description());
-            System.out.println("Image: " + metadata.image());
-        }
-
-        assertNotNull(metadata, "Metadata should not be null for github.com");
+        assertNotNull(metadata, "Metadata should not be null for the stub page");
+        assertEquals(url("/page"), metadata.url());
+        assertEquals("Stub title", metadata.title());
+        assertEquals("Stub description", metadata.description());
+        assertEquals("http://example.test/cover.png", metadata.image());
     }
 
     @Test
     void testExtractLinkMetadata_NoProtocol() {
         LinkPreviewService service = new LinkPreviewService();
-        String content = "Check this out www.github.com";
-        LinkPreviewService.LinkMetadata metadata = service.extractLinkMetadata(content);
 
-        assertNotNull(metadata, "Metadata should not be null for www.github.com");
-        assertEquals("https://www.github.com", metadata.url());
+        assertEquals("https://www.github.com", service.findUrl("Check this out www.github.com"));
+        assertNull(service.findUrl("No links here"));
+    }
+
+    @Test
+    void concurrentResolvesShareOneFetch() {
+        LinkPreviewService service = new LinkPreviewService();
+
+        List<CompletableFuture<Optional<LinkPreviewService.LinkMetadata>>> futures = IntStream.range(0, 8)
+                .mapToObj(i -> service.resolve(url("/slow")))
+                .toList();
+        release.countDown();
+        futures.forEach(future -> assertTrue(future.join().isPresent()));
+
+        assertEquals(1, pageHits.get());
+        assertTrue(service.getIfCached(url("/slow")).isPresent());
+    }
+
+    @Test
+    void failedFetchIsCachedAsEmpty() {
+        LinkPreviewService service = new LinkPreviewService();
+
+        assertTrue(service.resolve(url("/missing")).join().isEmpty());
+        assertTrue(service.resolve(url("/missing")).join().isEmpty());
+        assertNull(service.extractLinkMetadata("see " + url("/missing")));
+
+        assertEquals(1, missingHits.get());
     }
 }
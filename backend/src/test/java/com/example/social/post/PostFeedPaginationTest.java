@@ -0,0 +1,75 @@
+package com.example.social.post;
+
+import com.example.social.common.Cursor;
+import com.example.social.common.CursorPage;
+import com.example.social.feed.TimelineService;
+import com.example.social.post.dto.PostResponse;
+import com.example.social.user.User;
+import com.example.social.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+public class PostFeedPaginationTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private TimelineService timelineService;
+
+    @MockBean
+    private com.example.social.search.UserSearchRepository userSearchRepository;
+
+    @MockBean
+    private com.example.social.activity.UserActivityLogRepository userActivityLogRepository;
+
+    @Test
+    public void deletedPostInsidePageDoesNotEndFeed() {
+        User user = new User();
+        user.setUsername("feedPager" + System.nanoTime());
+        user.setPassword("password");
+        user.setEmail(user.getUsername() + "@test.com");
+        user = userRepository.save(user);
+
+        Post oldest = post(user, "oldest");
+        Post middle = post(user, "middle");
+        Post newest = post(user, "newest");
+        when(timelineService.readTimeline(any(), any(), anyInt()))
+                .thenReturn(Optional.of(List.of(newest.getId(), middle.getId(), oldest.getId())));
+
+        // Deleted after its id entered the timeline, inside the first page
+        postRepository.deleteById(middle.getId());
+
+        CursorPage<PostResponse> page = postService.getPersonalFeed(user.getUsername(), null, 2);
+
+        assertThat(page.items()).extracting(PostResponse::id).containsExactly(newest.getId());
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(Cursor.decodeOr(page.nextCursor(), Cursor.NEWEST).id()).isEqualTo(middle.getId());
+    }
+
+    private Post post(User author, String content) {
+        Post post = new Post();
+        post.setAuthor(author);
+        post.setContent(content);
+        return postRepository.save(post);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.social.post;
+
+import com.example.social.poll.Poll;
+import com.example.social.poll.PollOption;
+import com.example.social.poll.PollRepository;
+import com.example.social.post.dto.PostResponse;
+import com.example.social.user.User;
+import com.example.social.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class PostHydrationQueryTest {
+
+    @Autowired
+    private PostHydrator postHydrator;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private com.example.social.search.UserSearchRepository userSearchRepository;
+
+    @MockBean
+    private com.example.social.activity.UserActivityLogRepository userActivityLogRepository;
+
+    @Test
+    public void pageOfPostsWithPollsTakesFixedNumberOfStatements() {
+        User author = new User();
+        author.setUsername("hydrationAuthor" + System.nanoTime());
+        author.setPassword("password");
+        author.setEmail(author.getUsername() + "@test.com");
+        author = userRepository.save(author);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Post post = new Post();
+            post.setAuthor(author);
+            post.setContent("post " + i);
+            post = postRepository.save(post);
+
+            Poll poll = Poll.builder()
+                    .question("question " + i)
+                    .post(post)
+                    .expiryDateTime(LocalDateTime.now().plusDays(1))
+                    .build();
+            poll.setOptions(List.of(
+                    PollOption.builder().text("yes").poll(poll).voteCount(0).build(),
+                    PollOption.builder().text("no").poll(poll).voteCount(0).build()));
+            pollRepository.save(poll);
+            ids.add(post.getId());
+        }
+
+        long onePost = statementsToHydrate(ids.subList(0, 1), author.getId());
+        long fivePosts = statementsToHydrate(ids, author.getId());
+
+        // Nothing is selected per post, so a bigger page costs no extra statements
+        assertThat(fivePosts).isEqualTo(onePost);
+    }
+
+    private long statementsToHydrate(List<Long> ids, Long viewerId) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<PostResponse> page = postHydrator.hydrate(postRepository.findAllInOrder(ids), viewerId);
+
+        assertThat(page).hasSize(ids.size());
+        assertThat(page).allSatisfy(post -> assertThat(post.poll()).isNotNull());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.social.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsernameTrieTest {
+
+    @Test
+    void ranksPrefixMatchesByFollowers() {
+        UsernameTrie trie = new UsernameTrie(2);
+        trie.put(1, "alice", 10);
+        trie.put(2, "alicia", 30);
+        trie.put(3, "Alfred", 20);
+        trie.put(4, "bob", 99);
+
+        assertEquals(List.of("alicia", "Alfred"), names(trie.mostFollowed("al", 10)));
+        assertEquals(List.of("alicia", "alice"), names(trie.mostFollowed("ALI", 10)));
+        assertEquals(List.of("alice"), names(trie.mostFollowed("alice", 10)));
+        assertEquals(List.of(), names(trie.mostFollowed("alx", 10)));
+        assertEquals(List.of("bob", "alicia"), names(trie.mostFollowed("", 10)));
+    }
+
+    @Test
+    void followsRenamesRemovalsAndFollowerChanges() {
+        UsernameTrie trie = new UsernameTrie(1);
+        trie.put(1, "carol", 5);
+        trie.put(2, "carl", 7);
+
+        trie.adjustFollowers(1, 3);
+        assertEquals(List.of("carol"), names(trie.mostFollowed("car", 5)));
+
+        trie.put(1, "deleted_1", 8);
+        assertEquals(List.of("carl"), names(trie.mostFollowed("car", 5)));
+        assertEquals(List.of("deleted_1"), names(trie.mostFollowed("d", 5)));
+
+        trie.remove(2);
+        assertEquals(List.of(), names(trie.mostFollowed("car", 5)));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void keepsUsersWhoseNamesDifferOnlyByCase() {
+        UsernameTrie trie = new UsernameTrie(4);
+        trie.put(1, "Dave", 1);
+        trie.put(2, "dave", 2);
+
+        assertEquals(List.of("dave", "Dave"), names(trie.mostFollowed("da", 5)));
+        trie.remove(2);
+        assertEquals(List.of("Dave"), names(trie.mostFollowed("dave", 5)));
+    }
+
+    @Test
+    void agreesWithFullScan() {
+        Random random = new Random(11);
+        for (int run = 0; run < 200; run++) {
+            int capacity = 1 + random.nextInt(4);
+            UsernameTrie trie = new UsernameTrie(capacity);
+            Map<Long, String> names = new HashMap<>();
+            Map<Long, Integer> followers = new HashMap<>();
+
+            for (int step = 0; step < 300; step++) {
+                long id = random.nextInt(40);
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> {
+                        String name = randomName(random);
+                        int count = random.nextInt(6);
+                        trie.put(id, name, count);
+                        names.put(id, name);
+                        followers.put(id, count);
+                    }
+                    case 2 -> {
+                        trie.remove(id);
+                        names.remove(id);
+                        followers.remove(id);
+                    }
+                    default -> {
+                        int delta = random.nextInt(5) - 2;
+                        trie.adjustFollowers(id, delta);
+                        followers.computeIfPresent(id, (k, v) -> Math.max(0, v + delta));
+                    }
+                }
+
+                String sample = randomName(random);
+                String prefix = sample.substring(0, Math.min(sample.length(), random.nextInt(3)));
+                List<Long> expected = names.keySet().stream()
+                        .filter(k -> names.get(k).regionMatches(true, 0, prefix, 0, prefix.length()))
+                        .sorted(Comparator.<Long>comparingInt(followers::get).reversed()
+                                .thenComparing(names::get, String.CASE_INSENSITIVE_ORDER)
+                                .thenComparing(Comparator.naturalOrder()))
+                        .limit(capacity)
+                        .toList();
+                List<Long> actual = trie.mostFollowed(prefix, capacity).stream()
+                        .map(UsernameTrie.Entry::id)
+                        .toList();
+                assertEquals(expected, actual, "prefix [" + prefix + "] at step " + step);
+                assertEquals(names.size(), trie.size());
+            }
+        }
+    }
+
+    private static List<String> names(List<UsernameTrie.Entry> entries) {
+        return entries.stream().map(UsernameTrie.Entry::username).toList();
+    }
+
+    private static String randomName(Random random) {
+        String letters = "abAB";
+        StringBuilder name = new StringBuilder();
+        for (int i = 1 + random.nextInt(4); i > 0; i--) {
+            name.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.social.trending;
+
+import com.example.social.post.HashtagsChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.*;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+class HashtagTrendEngineTest {
+
+    // One-minute buckets over a ten-minute window, halving every two minutes
+    private static TrendingProperties properties(double velocityWeight, int topK) {
+        TrendingProperties properties = new TrendingProperties();
+        properties.setBucketWidth(Duration.ofMinutes(1));
+        properties.setWindow(Duration.ofMinutes(10));
+        properties.setHalfLife(Duration.ofMinutes(2));
+        properties.setVelocitySpan(Duration.ofMinutes(2));
+        properties.setVelocityWeight(velocityWeight);
+        properties.setTopK(topK);
+        return properties;
+    }
+
+    @Test
+    void olderUsesDecay() {
+        MutableClock clock = new MutableClock();
+        HashtagTrendEngine engine = engine(properties(0, 10), clock);
+
+        use(engine, clock, "old", 4);
+        clock.advanceMinutes(2);
+        use(engine, clock, "steady", 1);
+        engine.tick();
+        // old: 4 * 0.5 = 2, steady: 1
+        assertEquals(List.of("old", "steady"), tags(engine));
+
+        clock.advanceMinutes(4);
+        use(engine, clock, "fresh", 1);
+        engine.tick();
+        // fresh: 1, old: 4 * 0.125 = 0.5, steady: 1 * 0.25
+        assertEquals(List.of("fresh", "old", "steady"), tags(engine));
+        assertEquals(List.of(1L, 4L, 1L), counts(engine));
+    }
+
+    @Test
+    void usesLeaveAtTheEndOfTheWindow() {
+        MutableClock clock = new MutableClock();
+        HashtagTrendEngine engine = engine(properties(0, 10), clock);
+
+        use(engine, clock, "gone", 2);
+        clock.advanceMinutes(9);
+        engine.tick();
+        assertEquals(List.of("gone"), tags(engine));
+        assertEquals(List.of(2L), counts(engine));
+
+        clock.advanceMinutes(1);
+        engine.tick();
+        assertEquals(List.of(), tags(engine));
+
+        // A late change for a post older than the window is ignored
+        engine.onHashtagsChanged(new HashtagsChangedEvent(
+                Set.of("late"), Set.of(), LocalDateTime.now(clock).minusMinutes(10)));
+        engine.tick();
+        assertEquals(List.of(), tags(engine));
+    }
+
+    @Test
+    void burstOutranksSteadyVolumeOnlyWithVelocity() {
+        for (double velocityWeight : new double[] { 0, 1 }) {
+            MutableClock clock = new MutableClock();
+            HashtagTrendEngine engine = engine(properties(velocityWeight, 2), clock);
+
+            use(engine, clock, "minor", 1);
+            for (int minute = 0; minute < 8; minute++) {
+                use(engine, clock, "steady", 3);
+                clock.advanceMinutes(1);
+            }
+            use(engine, clock, "burst", 4);
+            engine.tick();
+
+            // steady: about 6.79 decayed, no burst; burst: 4 decayed plus 4 above
+            // its usual rate; minor: 1 / 16, cut by topK
+            List<String> expected = velocityWeight == 0 ? List.of("steady", "burst") : List.of("burst", "steady");
+            assertEquals(expected, tags(engine), "velocity weight " + velocityWeight);
+        }
+    }
+
+    @Test
+    void removedTagsStopCounting() {
+        MutableClock clock = new MutableClock();
+        HashtagTrendEngine engine = engine(properties(0, 10), clock);
+
+        use(engine, clock, "edited", 1);
+        use(engine, clock, "kept", 1);
+        engine.onHashtagsChanged(new HashtagsChangedEvent(Set.of(), Set.of("edited"), LocalDateTime.now(clock)));
+        engine.tick();
+        assertEquals(List.of("kept"), tags(engine));
+    }
+
+    private static HashtagTrendEngine engine(TrendingProperties properties, Clock clock) {
+        return new HashtagTrendEngine(
+                properties,
+                mock(JdbcTemplate.class),
+                mock(StringRedisTemplate.class, RETURNS_DEEP_STUBS),
+                new ObjectMapper(),
+                mock(RedisMessageListenerContainer.class),
+                clock);
+    }
+
+    private static void use(HashtagTrendEngine engine, Clock clock, String tag, int times) {
+        for (int i = 0; i < times; i++) {
+            engine.onHashtagsChanged(new HashtagsChangedEvent(Set.of(tag), Set.of(), LocalDateTime.now(clock)));
+        }
+    }
+
+    private static List<String> tags(HashtagTrendEngine engine) {
+        return engine.top().stream().map(TrendingTopicDTO::tag).toList();
+    }
+
+    private static List<Long> counts(HashtagTrendEngine engine) {
+        return engine.top().stream().map(TrendingTopicDTO::count).toList();
+    }
+
+    // Starts on a bucket boundary and moves only when told to
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advanceMinutes(long minutes) {
+            now = now.plus(Duration.ofMinutes(minutes));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,3 +2,7 @@ import api from "./axios";
 
 export const searchUsers = (q) =>
     api.get(`/users/search?q=${q}&page=0&size=10`);
+
+// Username prefix suggestions, served from the backend's in-memory index
+export const suggestUsers = (q, limit = 10) =>
+    api.get(`/users/typeahead`, { params: { q, limit } });
@@ -1,6 +1,6 @@
 import { useState, useEffect } from "react";
 // import { createGroup } from "../api/chatService";
-import { searchUsers } from "../api/searchService";
+import { suggestUsers } from "../api/searchService";
 import { API_BASE_URL } from "../api/config";
 
 export default function GroupCreationModal({ onClose, onCreate }) {
@@ -22,7 +22,7 @@ export default function GroupCreationModal({ onClose, onCreate }) {
 
         const timer = setTimeout(() => {
             setLoading(true);
-            searchUsers(query)
+            suggestUsers(query)
                 .then(res => {
                     // Filter out already selected users
                     const data = res.data;
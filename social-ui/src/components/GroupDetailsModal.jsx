@@ -1,7 +1,7 @@
 import { useState, useEffect } from "react";
 import { getGroup, addGroupMember, removeGroupMember, updateGroup, leaveGroup } from "../api/chatService";
 import { API_BASE_URL } from "../api/config";
-import { searchUsers } from "../api/searchService";
+import { suggestUsers } from "../api/searchService";
 import { getCurrentUser } from "../api/userService";
 import { useNavigate } from "react-router-dom";
 
@@ -54,10 +54,10 @@ export default function GroupDetailsModal({ groupId, onClose, onUpdate }) {
             return;
         }
         const timer = setTimeout(() => {
-            searchUsers(query)
+            suggestUsers(query)
                 .then(res => {
                     // Filter out existing members
-                    const all = res.data.content || [];
+                    const all = Array.isArray(res.data) ? res.data : (res.data.content || []);
                     if (group) {
                         setSearchResults(all.filter(u => !group.participants.some(p => p.username === u.username)));
                     }